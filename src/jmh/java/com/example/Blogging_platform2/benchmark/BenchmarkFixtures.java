@@ -0,0 +1,46 @@
+package com.example.Blogging_platform2.benchmark;
+
+import com.example.Blogging_platform2.dao.PostDao;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.model.Post;
+import com.example.Blogging_platform2.model.User;
+
+import java.lang.reflect.Proxy;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+// Shared test data and an in-memory PostDao so controller/cache benchmarks measure our code, not the DB
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static Post post(long id) {
+        User user = new User();
+        user.setId(7L);
+        user.setUsername("author");
+
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle("Benchmarking Spring Boot services with JMH");
+        post.setContent("Lorem ipsum dolor sit amet, consectetur adipiscing elit. ".repeat(40));
+        post.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        post.setUpdatedAt(LocalDateTime.of(2024, 1, 2, 12, 0));
+        post.setUser(user);
+        return post;
+    }
+
+    // Answers findById/findDetailById/existsById from a single fixed post; anything else is not part of a benchmark
+    static PostDao inMemoryPostDao(Post post) {
+        return (PostDao) Proxy.newProxyInstance(PostDao.class.getClassLoader(), new Class<?>[]{PostDao.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "findById" -> post.getId().equals(args[0]) ? Optional.of(post) : Optional.empty();
+                    case "findDetailById" -> post.getId().equals(args[0]) ? Optional.of(PostDetail.from(post)) : Optional.empty();
+                    case "existsById" -> post.getId().equals(args[0]);
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    case "equals" -> proxy == args[0];
+                    case "toString" -> "InMemoryPostDao";
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.Blogging_platform2.benchmark;
+
+import com.example.Blogging_platform2.dao.PostDao;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.service.PostService;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cache hit path of PostService.getPostById through the Spring cache proxy, against a raw
+ * Caffeine lookup as the floor. The gap is the cost of the proxy and key evaluation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostCacheBenchmark {
+
+    @Configuration
+    @EnableCaching
+    static class CacheContext {
+
+        @Bean
+        CacheManager cacheManager() {
+            CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+            cacheManager.setCaffeine(Caffeine.newBuilder().maximumSize(1000));
+            return cacheManager;
+        }
+
+        @Bean
+        PostDao postDao() {
+            return BenchmarkFixtures.inMemoryPostDao(BenchmarkFixtures.post(1L));
+        }
+
+        @Bean
+        PostService postService(PostDao postDao) {
+            return new PostService(postDao, event -> { });
+        }
+    }
+
+    private AnnotationConfigApplicationContext context;
+    private PostService cachedPostService;
+    private com.github.benmanes.caffeine.cache.Cache<Long, PostDetail> rawCache;
+
+    @Setup
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(CacheContext.class);
+        cachedPostService = context.getBean(PostService.class);
+        cachedPostService.getPostById(1L); // populate
+
+        rawCache = Caffeine.newBuilder().maximumSize(1000).build();
+        rawCache.put(1L, PostDetail.from(BenchmarkFixtures.post(1L)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public PostDetail springCacheHit() {
+        return cachedPostService.getPostById(1L);
+    }
+
+    @Benchmark
+    public PostDetail caffeineHit() {
+        return rawCache.getIfPresent(1L);
+    }
+}
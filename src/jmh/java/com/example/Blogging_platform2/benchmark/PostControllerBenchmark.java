@@ -0,0 +1,51 @@
+package com.example.Blogging_platform2.benchmark;
+
+import com.example.Blogging_platform2.controller.PostController;
+import com.example.Blogging_platform2.dto.ApiResponse;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.service.PostService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * GET /api/posts/{id} minus the servlet stack: controller call returning the PostDetail record, and the
+ * Jackson serialization of the resulting ApiResponse with the same ObjectMapper setup Boot uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostControllerBenchmark {
+
+    private PostController controller;
+    private ObjectMapper objectMapper;
+    private ApiResponse<PostDetail> response;
+
+    @Setup
+    public void setUp() {
+        controller = new PostController(new PostService(BenchmarkFixtures.inMemoryPostDao(BenchmarkFixtures.post(1L)), event -> { }), null, null, null);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        response = controller.getPostById(1L).getBody();
+    }
+
+    @Benchmark
+    public ResponseEntity<ApiResponse<PostDetail>> getPostById() {
+        return controller.getPostById(1L);
+    }
+
+    @Benchmark
+    public byte[] serializeApiResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] getPostByIdAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(controller.getPostById(1L).getBody());
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.Blogging_platform2.benchmark;
+
+import com.example.Blogging_platform2.dao.PostDao;
+import com.example.Blogging_platform2.dto.PostSearchHit;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.model.Post;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PostDao queries against a real PostgreSQL started in-process (zonky embedded-postgres), with
+ * the JPA mappings and SQL init scripts from the application but none of the web/security stack.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostDaoBenchmark {
+
+    @EnableAutoConfiguration
+    @EntityScan("com.example.Blogging_platform2.model")
+    @EnableJpaRepositories("com.example.Blogging_platform2.dao")
+    static class DaoContext {
+    }
+
+    @Param({"10000"})
+    public int posts;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private PostDao postDao;
+    private TransactionTemplate readOnly;
+    private PostDetail middle;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        postgres = EmbeddedPostgres.builder().start();
+        context = new SpringApplicationBuilder(DaoContext.class)
+                .web(WebApplicationType.NONE)
+                .run("--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=",
+                        "--spring.jpa.hibernate.ddl-auto=create",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN");
+        postDao = context.getBean(PostDao.class);
+        readOnly = new TransactionTemplate(context.getBean(org.springframework.transaction.PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+        seed(context.getBean(JdbcTemplate.class));
+        middle = postDao.findDetailById((long) posts / 2).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        context.close();
+        postgres.close();
+    }
+
+    private void seed(JdbcTemplate jdbc) {
+        jdbc.update("INSERT INTO users (id, username, email, password) VALUES (1, 'bench', 'bench@example.com', 'x')");
+        // Explicit ids: the benchmarks pick ids in 1..posts, the sequence hands them out in steps of 50
+        jdbc.update("INSERT INTO posts (id, title, content, created_at, updated_at, user_id) " +
+                "SELECT g, 'Post ' || g || CASE WHEN g % 10 = 0 THEN ' postgres tuning' ELSE ' spring notes' END, " +
+                "repeat('lorem ipsum dolor sit amet ', 40), now() - g * interval '1 minute', now(), 1 " +
+                "FROM generate_series(1, ?) g", posts);
+        jdbc.update("UPDATE posts p SET search_vector = " + PostDao.SEARCH_VECTOR_SQL);
+        jdbc.execute("ANALYZE posts");
+    }
+
+    @Benchmark
+    public Optional<Post> findById() {
+        long id = ThreadLocalRandom.current().nextLong(1, posts + 1);
+        return readOnly.execute(status -> postDao.findById(id));
+    }
+
+    // Same row as a constructor projection: no entity hydration, no persistence context entry
+    @Benchmark
+    public Optional<PostDetail> findDetailById() {
+        long id = ThreadLocalRandom.current().nextLong(1, posts + 1);
+        return readOnly.execute(status -> postDao.findDetailById(id));
+    }
+
+    @Benchmark
+    public Slice<PostDetail> findLatestFirstPage() {
+        return readOnly.execute(status -> postDao.findLatest(PageRequest.ofSize(20)));
+    }
+
+    @Benchmark
+    public Slice<PostDetail> findLatestBeforeDeepCursor() {
+        return readOnly.execute(status ->
+                postDao.findLatestBefore(middle.createdAt(), middle.id(), PageRequest.ofSize(20)));
+    }
+
+    @Benchmark
+    public List<PostSearchHit> searchFullTextHits() {
+        return readOnly.execute(status -> postDao.searchFullTextHits("postgres tuning", 20, 0));
+    }
+}
@@ -2,9 +2,13 @@ package com.example.Blogging_platform2;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
-@EnableCaching
+// Outermost of the caching, transaction and routing advice: a hit opens no transaction
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+@EnableScheduling
 public class BloggingPlatform2Application {
 
 	public static void main(String[] args) {
@@ -0,0 +1,105 @@
+package com.example.Blogging_platform2.aspect;
+
+import org.hibernate.Hibernate;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.lang.reflect.Method;
+import java.time.temporal.Temporal;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Renders service arguments and results for logging without calling their toString. Lombok
+ * {@code @Data} entities would walk lazy collections there, so entities are rendered as
+ * {@code Type#id} and collections only by size, and nothing uninitialized is ever touched.
+ */
+final class LogValueRenderer {
+
+    private static final ClassValue<Method> ID_GETTER = new ClassValue<>() {
+        @Override
+        protected Method computeValue(Class<?> type) {
+            if (!type.isAnnotationPresent(jakarta.persistence.Entity.class)) {
+                return null;
+            }
+            try {
+                return type.getMethod("getId");
+            } catch (NoSuchMethodException e) {
+                return null;
+            }
+        }
+    };
+
+    private LogValueRenderer() {
+    }
+
+    static String renderArgs(Object[] args, boolean full, int maxLength) {
+        if (args.length == 0) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(Math.min(64 * args.length, maxLength * args.length));
+        for (int i = 0; i < args.length; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            appendValue(sb, args[i], full, maxLength);
+        }
+        return sb.toString();
+    }
+
+    static String render(Object value, boolean full, int maxLength) {
+        StringBuilder sb = new StringBuilder(32);
+        appendValue(sb, value, full, maxLength);
+        return sb.toString();
+    }
+
+    private static void appendValue(StringBuilder sb, Object value, boolean full, int maxLength) {
+        if (value == null) {
+            sb.append("null");
+        } else if (value instanceof HibernateProxy proxy) {
+            // Reading the identifier of a proxy does not initialize it
+            sb.append(proxy.getHibernateLazyInitializer().getEntityName()).append('#')
+                    .append(proxy.getHibernateLazyInitializer().getInternalIdentifier());
+        } else if (!Hibernate.isInitialized(value)) {
+            sb.append(Hibernate.getClassLazy(value).getSimpleName()).append("(uninitialized)");
+        } else if (value instanceof CharSequence text) {
+            appendCapped(sb, full ? text : "String[" + text.length() + "]", maxLength);
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Enum<?>
+                || value instanceof Temporal || value instanceof Character) {
+            sb.append(value);
+        } else if (value instanceof Collection<?> collection) {
+            sb.append(value.getClass().getSimpleName()).append("[size=").append(collection.size()).append(']');
+        } else if (value instanceof Map<?, ?> map) {
+            sb.append("Map[size=").append(map.size()).append(']');
+        } else if (value instanceof Optional<?> optional) {
+            sb.append("Optional[");
+            optional.ifPresentOrElse(v -> appendValue(sb, v, full, maxLength), () -> sb.append("empty"));
+            sb.append(']');
+        } else if (value.getClass().isArray()) {
+            sb.append(value.getClass().getComponentType().getSimpleName()).append("[]");
+        } else {
+            Method idGetter = ID_GETTER.get(value.getClass());
+            if (idGetter != null) {
+                sb.append(value.getClass().getSimpleName()).append('#').append(readId(idGetter, value));
+            } else {
+                sb.append(value.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private static Object readId(Method idGetter, Object entity) {
+        try {
+            return idGetter.invoke(entity);
+        } catch (ReflectiveOperationException e) {
+            return "?";
+        }
+    }
+
+    private static void appendCapped(StringBuilder sb, CharSequence text, int maxLength) {
+        if (text.length() <= maxLength) {
+            sb.append(text);
+        } else {
+            sb.append(text, 0, maxLength).append("...(").append(text.length()).append(" chars)");
+        }
+    }
+}
@@ -1,49 +1,68 @@
 package com.example.Blogging_platform2.aspect;
 
-import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
-import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
 
+/**
+ * Sampled service call logging. Nothing is rendered unless the call is sampled and INFO is
+ * enabled, and values go through {@link LogValueRenderer} so logging never triggers lazy
+ * loading. This logger writes through the async appender configured in logback-spring.xml.
+ */
 @Aspect
 @Component
 public class LoggingAspect {
 
     private static final Logger logger = LoggerFactory.getLogger(LoggingAspect.class);
-    @Before("execution(* com.example.Blogging_platform2.service.*.*(..))")
-    public void logBeforeMethod(JoinPoint joinPoint) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        Object[] args = joinPoint.getArgs();
 
-        logger.info("Calling {}.{} with arguments: {}",
-                className, methodName, Arrays.toString(args));
+    private final LoggingProperties properties;
+
+    public LoggingAspect(LoggingProperties properties) {
+        this.properties = properties;
     }
 
-    @AfterReturning(
-            pointcut = "execution(* com.example.Blogging_platform2.service.*.*(..))",
-            returning = "result"
-    )
-    public void logAfterMethod(JoinPoint joinPoint, Object result) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
+    @Around("execution(* com.example.Blogging_platform2.service.*.*(..))")
+    public Object logServiceCall(ProceedingJoinPoint joinPoint) throws Throwable {
+        LoggingProperties.Mode mode = properties.getMode();
+        if (mode == LoggingProperties.Mode.OFF) {
+            return joinPoint.proceed();
+        }
 
-        logger.info("{}.{}, completed successfully. Returned: {}",
-                className, methodName, result);
+        String className = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        String methodName = joinPoint.getSignature().getName();
+        try {
+            Object result = joinPoint.proceed();
+            if (logger.isInfoEnabled() && sampled(className, methodName)) {
+                logCall(mode, className, methodName, joinPoint.getArgs(), result);
+            }
+            return result;
+        } catch (Exception exception) {
+            // Failures are never sampled away
+            logger.error("{}.{}({}) threw an exception: {}", className, methodName,
+                    LogValueRenderer.renderArgs(joinPoint.getArgs(), false, properties.getMaxValueLength()),
+                    exception.getMessage(), exception);
+            throw exception;
+        }
     }
 
-    @AfterThrowing(
-            pointcut = "execution(* com.example.Blogging_platform2.service.*.*(..))",
-            throwing = "exception"
-    )
-    public void logAfterException(JoinPoint joinPoint, Exception exception) {
-        String methodName = joinPoint.getSignature().getName();
-        String className = joinPoint.getTarget().getClass().getSimpleName();
+    private void logCall(LoggingProperties.Mode mode, String className, String methodName, Object[] args, Object result) {
+        boolean full = mode == LoggingProperties.Mode.FULL;
+        int maxLength = properties.getMaxValueLength();
+        String renderedArgs = LogValueRenderer.renderArgs(args, full, maxLength);
+        if (full) {
+            logger.info("{}.{}({}) returned {}", className, methodName, renderedArgs,
+                    LogValueRenderer.render(result, true, maxLength));
+        } else {
+            logger.info("{}.{}({}) completed", className, methodName, renderedArgs);
+        }
+    }
 
-        logger.error("{}.{}, threw an exception: {}",
-                className, methodName, exception.getMessage(), exception);
+    private boolean sampled(String className, String methodName) {
+        double rate = properties.sampleRateFor(className + "." + methodName);
+        return rate >= 1.0 || (rate > 0.0 && ThreadLocalRandom.current().nextDouble() < rate);
     }
 }
@@ -0,0 +1,59 @@
+package com.example.Blogging_platform2.aspect;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// GET /actuator/servicelogging shows the settings, POST changes them without a restart
+@Component
+@Endpoint(id = "servicelogging")
+public class LoggingEndpoint {
+
+    private final LoggingProperties properties;
+
+    public LoggingEndpoint(LoggingProperties properties) {
+        this.properties = properties;
+    }
+
+    @ReadOperation
+    public Map<String, Object> settings() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("mode", properties.getMode());
+        settings.put("sampleRate", properties.getSampleRate());
+        settings.put("methodSampleRates", properties.getMethodSampleRates());
+        settings.put("maxValueLength", properties.getMaxValueLength());
+        return settings;
+    }
+
+    // With 'method' (ClassName.method) the rate applies to that method only; a negative rate removes the override
+    @WriteOperation
+    public Map<String, Object> update(@Nullable LoggingProperties.Mode mode,
+                                      @Nullable Double sampleRate,
+                                      @Nullable String method,
+                                      @Nullable Integer maxValueLength) {
+        if (sampleRate != null && sampleRate > 1.0) {
+            throw new IllegalArgumentException("sampleRate must be between 0.0 and 1.0");
+        }
+        if (mode != null) {
+            properties.setMode(mode);
+        }
+        if (sampleRate != null) {
+            if (method == null) {
+                properties.setSampleRate(Math.max(0.0, sampleRate));
+            } else if (sampleRate < 0) {
+                properties.getMethodSampleRates().remove(method);
+            } else {
+                properties.getMethodSampleRates().put(method, sampleRate);
+            }
+        }
+        if (maxValueLength != null && maxValueLength > 0) {
+            properties.setMaxValueLength(maxValueLength);
+        }
+        return settings();
+    }
+}
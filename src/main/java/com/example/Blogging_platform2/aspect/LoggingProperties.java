@@ -0,0 +1,47 @@
+package com.example.Blogging_platform2.aspect;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Settings for {@link LoggingAspect}. Bound from {@code blog.logging.service.*} at startup and
+ * changed at runtime through the {@code servicelogging} actuator endpoint.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.logging.service")
+public class LoggingProperties {
+
+    public enum Mode {
+        // No per-call logging; exceptions still propagate to the global handler
+        OFF,
+        // Method name and an id-only summary of arguments
+        COMPACT,
+        // Capped rendering of arguments and return value
+        FULL
+    }
+
+    private volatile Mode mode = Mode.COMPACT;
+
+    // Fraction of calls logged, 0.0 - 1.0
+    private volatile double sampleRate = 0.1;
+
+    // Per-method overrides keyed by "ClassName.method", e.g. method-sample-rates[PostService.getPostById]=1.0
+    private Map<String, Double> methodSampleRates = new ConcurrentHashMap<>();
+
+    // Longest rendering of a single argument or return value
+    private volatile int maxValueLength = 200;
+
+    public double sampleRateFor(String method) {
+        Double rate = methodSampleRates.get(method);
+        return rate != null ? rate : sampleRate;
+    }
+
+    public void setMethodSampleRates(Map<String, Double> methodSampleRates) {
+        this.methodSampleRates = new ConcurrentHashMap<>(methodSampleRates);
+    }
+}
@@ -1,83 +1,110 @@
 package com.example.Blogging_platform2.aspect;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.aspectj.lang.ProceedingJoinPoint;
 import org.aspectj.lang.annotation.Around;
 import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Component;
 
+import java.lang.reflect.Method;
+import java.time.Instant;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Times service and controller calls into the {@code blog.method.duration} timer (tagged by
+ * layer, class, method and outcome). Timers publish a percentile histogram only, so p95/p99 are
+ * computed by the monitoring backend and can be aggregated across instances; client-side
+ * percentiles would add a gauge per quantile to every timer. Calls over their threshold are logged
+ * and kept in the {@link SlowCallRecorder} ring buffer.
+ */
 @Aspect
 @Component
 public class PerformanceMonitoringAspect {
     
     private static final Logger logger = LoggerFactory.getLogger(PerformanceMonitoringAspect.class);
 
-    // If a method takes longer than this, we'll log a warning
-    private static final long SLOW_METHOD_THRESHOLD_MS = 1000;
+    private static final String TIMER_NAME = "blog.method.duration";
+
+    private final MeterRegistry meterRegistry;
+    private final PerformanceProperties properties;
+    private final SlowCallRecorder slowCallRecorder;
+
+    // Timers and thresholds resolved once per method instead of on every call
+    private final ConcurrentHashMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    public PerformanceMonitoringAspect(MeterRegistry meterRegistry,
+                                       PerformanceProperties properties,
+                                       SlowCallRecorder slowCallRecorder) {
+        this.meterRegistry = meterRegistry;
+        this.properties = properties;
+        this.slowCallRecorder = slowCallRecorder;
+    }
 
     @Around("execution(* com.example.Blogging_platform2.service.*.*(..))")
     public Object monitorPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        // Get method information
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        
-        // Record start time (in milliseconds)
-        long startTime = System.currentTimeMillis();
-        
-        // Declare result variable
-        Object result = null;
-        
-        try {
-
-            //  This is where your service method actually runs
-            result = joinPoint.proceed();
-            
-            return result;
-            
-        } finally {
-            // Record end time
-            long endTime = System.currentTimeMillis();
-            
-            // Calculate duration
-            long duration = endTime - startTime;
-            
-            // Log performance based on duration
-            if (duration > SLOW_METHOD_THRESHOLD_MS) {
-                // Slow method - log as warning
-                logger.warn("  SLOW METHOD: {}.{} took {} ms",
-                           className, methodName, duration);
-            } else {
-                // Normal speed - log as info
-                logger.info("  Performance: {}.{} took {} ms",
-                           className, methodName, duration);
-            }
-        }
+        return timed(joinPoint, false);
     }
 
     @Around("execution(* com.example.Blogging_platform2.controller.*.*(..)) && @within(org.springframework.web.bind.annotation.RestController)")
     public Object monitorControllerPerformance(ProceedingJoinPoint joinPoint) throws Throwable {
-        String className = joinPoint.getTarget().getClass().getSimpleName();
-        String methodName = joinPoint.getSignature().getName();
-        
-        long startTime = System.currentTimeMillis();
-        Object result = null;
-        
+        return timed(joinPoint, true);
+    }
+
+    private Object timed(ProceedingJoinPoint joinPoint, boolean controller) throws Throwable {
+        long start = System.nanoTime();
+        boolean success = false;
         try {
-            result = joinPoint.proceed();
+            Object result = joinPoint.proceed();
+            success = true;
             return result;
         } finally {
-            long duration = System.currentTimeMillis() - startTime;
-            
-            // API endpoints should be fast (< 500ms is good)
-            if (duration > 500) {
-                logger.warn("  SLOW API: {}.{} took {} ms",
-                           className, methodName, duration);
-            } else {
-                logger.debug(" API Performance: {}.{} took {} ms",
-                            className, methodName, duration);
+            long elapsed = System.nanoTime() - start;
+            MethodMeters methodMeters = meters.computeIfAbsent(
+                    ((MethodSignature) joinPoint.getSignature()).getMethod(), method -> register(method, controller));
+            (success ? methodMeters.success() : methodMeters.error()).record(elapsed, TimeUnit.NANOSECONDS);
+
+            long durationMs = TimeUnit.NANOSECONDS.toMillis(elapsed);
+            if (durationMs > methodMeters.thresholdMs()) {
+                recordSlowCall(joinPoint, methodMeters, durationMs, success);
             }
         }
     }
+
+    private void recordSlowCall(ProceedingJoinPoint joinPoint, MethodMeters methodMeters, long durationMs, boolean success) {
+        String layer = methodMeters.controller() ? "controller" : "service";
+        logger.warn("  SLOW {}: {} took {} ms (threshold {} ms)",
+                layer, methodMeters.name(), durationMs, methodMeters.thresholdMs());
+        // Shapes only (types, sizes, entity ids), never full values
+        String argShapes = LogValueRenderer.renderArgs(joinPoint.getArgs(), false, 80);
+        slowCallRecorder.record(new SlowCallRecorder.SlowCall(Instant.now(), layer, methodMeters.name(),
+                durationMs, methodMeters.thresholdMs(), success ? "success" : "error", argShapes));
+    }
+
+    private MethodMeters register(Method method, boolean controller) {
+        String className = method.getDeclaringClass().getSimpleName();
+        String name = className + "." + method.getName();
+        return new MethodMeters(name, controller,
+                properties.thresholdMsFor(name, controller),
+                timer(controller, className, method.getName(), "success"),
+                timer(controller, className, method.getName(), "error"));
+    }
+
+    private Timer timer(boolean controller, String className, String methodName, String outcome) {
+        return Timer.builder(TIMER_NAME)
+                .description("Execution time of service and controller methods")
+                .tag("layer", controller ? "controller" : "service")
+                .tag("class", className)
+                .tag("method", methodName)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private record MethodMeters(String name, boolean controller, long thresholdMs, Timer success, Timer error) {
+    }
 }
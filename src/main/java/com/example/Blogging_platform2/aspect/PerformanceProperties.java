@@ -0,0 +1,34 @@
+package com.example.Blogging_platform2.aspect;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+
+// Slow-call thresholds for PerformanceMonitoringAspect, bound from blog.performance.*
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.performance")
+public class PerformanceProperties {
+
+    private long serviceThresholdMs = 1000;
+
+    // API endpoints should be fast (< 500ms is good)
+    private long controllerThresholdMs = 500;
+
+    // Per-method overrides keyed by "ClassName.method", e.g. method-thresholds-ms[PostService.searchPostsByTitle]=300
+    private Map<String, Long> methodThresholdsMs = new HashMap<>();
+
+    // How many of the most recent slow calls /actuator/slowcalls keeps
+    private int slowCallBufferSize = 100;
+
+    public long thresholdMsFor(String method, boolean controller) {
+        Long threshold = methodThresholdsMs.get(method);
+        if (threshold != null) {
+            return threshold;
+        }
+        return controller ? controllerThresholdMs : serviceThresholdMs;
+    }
+}
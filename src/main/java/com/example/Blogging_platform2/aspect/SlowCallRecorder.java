@@ -0,0 +1,59 @@
+package com.example.Blogging_platform2.aspect;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ring buffer of the last N slow invocations, exposed at {@code /actuator/slowcalls}. Writers
+ * claim a slot with one atomic increment, so recording never blocks the slow request further.
+ */
+@Component
+@Endpoint(id = "slowcalls")
+public class SlowCallRecorder {
+
+    public record SlowCall(Instant at, String layer, String method, long durationMs,
+                           long thresholdMs, String outcome, String argShapes) {
+    }
+
+    private final AtomicReferenceArray<SlowCall> slots;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowCallRecorder(PerformanceProperties properties) {
+        this.slots = new AtomicReferenceArray<>(Math.max(1, properties.getSlowCallBufferSize()));
+    }
+
+    public void record(SlowCall call) {
+        int slot = (int) (next.getAndIncrement() % slots.length());
+        slots.set(slot, call);
+    }
+
+    // Newest first
+    @ReadOperation
+    public List<SlowCall> slowCalls() {
+        long end = next.get();
+        int size = slots.length();
+        List<SlowCall> calls = new ArrayList<>(size);
+        for (long i = end - 1; i >= 0 && i >= end - size; i--) {
+            SlowCall call = slots.get((int) (i % size));
+            if (call != null) {
+                calls.add(call);
+            }
+        }
+        return calls;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        for (int i = 0; i < slots.length(); i++) {
+            slots.set(i, null);
+        }
+    }
+}
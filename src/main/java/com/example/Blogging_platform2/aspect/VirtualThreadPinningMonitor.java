@@ -0,0 +1,106 @@
+package com.example.Blogging_platform2.aspect;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Pinning diagnostics for virtual-thread mode. Listens in-process for JFR
+ * {@code jdk.VirtualThreadPinned} events (a virtual thread blocking inside {@code synchronized} or
+ * native code keeps its carrier thread) longer than the threshold. They are timed as
+ * {@code blog.virtual.pinned}, and the stacks are grouped at {@code /actuator/pinning}; each new
+ * stack is logged once.
+ */
+@Component
+@Endpoint(id = "pinning")
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadPinningMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int MAX_SITES = 200;
+    private static final int MAX_FRAMES = 12;
+
+    public record PinnedSite(List<String> stack, long count, long maxMs) {
+    }
+
+    private final Timer pinned;
+    private final RecordingStream recording;
+    private final ConcurrentHashMap<List<String>, Site> sites = new ConcurrentHashMap<>();
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry,
+                                       @Value("${blog.virtual.pinning-threshold:20ms}") Duration threshold) {
+        this.pinned = Timer.builder("blog.virtual.pinned")
+                .description("Virtual threads pinned to their carrier longer than the threshold")
+                .register(meterRegistry);
+        this.recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::onPinned);
+        recording.startAsync();
+        logger.info("Watching for virtual thread pinning over {}", threshold);
+    }
+
+    // Most frequent first
+    @ReadOperation
+    public List<PinnedSite> pinnedSites() {
+        return sites.entrySet().stream()
+                .map(e -> new PinnedSite(e.getKey(), e.getValue().count.sum(), e.getValue().maxMs.get()))
+                .sorted(Comparator.comparingLong(PinnedSite::count).reversed())
+                .toList();
+    }
+
+    @PreDestroy
+    public void stop() {
+        recording.close();
+    }
+
+    private void onPinned(RecordedEvent event) {
+        Duration duration = event.getDuration();
+        pinned.record(duration);
+        List<String> stack = event.getStackTrace() == null ? List.of("<no stack>")
+                : event.getStackTrace().getFrames().stream()
+                        .limit(MAX_FRAMES)
+                        .map(VirtualThreadPinningMonitor::describe)
+                        .collect(Collectors.toList());
+        Site site = sites.get(stack);
+        if (site == null) {
+            if (sites.size() >= MAX_SITES) {
+                return;
+            }
+            site = sites.computeIfAbsent(stack, s -> new Site());
+            if (site.count.sum() == 0) {
+                logger.warn("Virtual thread pinned for {} ms at:\n\t{}", duration.toMillis(), String.join("\n\t", stack));
+            }
+        }
+        site.count.increment();
+        site.maxMs.accumulateAndGet(duration.toMillis(), Math::max);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    private static class Site {
+        private final LongAdder count = new LongAdder();
+        private final AtomicLong maxMs = new AtomicLong();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.Blogging_platform2.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.actuate.metrics.cache.CacheMeterBinderProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Explicit Caffeine cache manager replacing Boot's auto-configured (unbounded) one. Each named
+ * cache gets its own weight bound and expiry from {@link CacheProperties}; any other cache name
+ * falls back to the defaults. Stats are recorded everywhere, through {@link MeteredStatsCounter},
+ * so actuator cache metrics work and load times and evictions by cause are published too.
+ * With {@code blog.cache.l2.enabled} every cache becomes a {@link TwoTierCache}; the L2 store
+ * and invalidation channel beans are used when defined, the in-process stand-ins otherwise.
+ * {@link DecoratingCacheManager} adds refresh-ahead where configured and defers every cache write
+ * made inside a transaction until it commits.
+ */
+@Configuration
+public class CacheConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheConfig.class);
+
+    @Bean
+    public DecoratingCacheManager cacheManager(CacheProperties properties,
+                                               ObjectProvider<L2CacheStore> l2Store,
+                                               ObjectProvider<CacheInvalidationChannel> invalidationChannel,
+                                               MeterRegistry meterRegistry) {
+        return new DecoratingCacheManager(
+                storeCacheManager(properties, l2Store, invalidationChannel, meterRegistry), properties, meterRegistry);
+    }
+
+    // Boot only binds Caffeine metrics for CaffeineCache; this covers our wrappers around Caffeine
+    @Bean
+    public CacheMeterBinderProvider<Cache> decoratedCacheMeterBinderProvider() {
+        return (cache, tags) -> !(cache instanceof CaffeineCache)
+                && cache.getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache
+                ? new CaffeineCacheMetrics<>(nativeCache, cache.getName(), tags)
+                : null;
+    }
+
+    private CacheManager storeCacheManager(CacheProperties properties,
+                                           ObjectProvider<L2CacheStore> l2Store,
+                                           ObjectProvider<CacheInvalidationChannel> invalidationChannel,
+                                           MeterRegistry meterRegistry) {
+        if (properties.getL2().isEnabled()) {
+            L2CacheStore store = l2Store.getIfAvailable(() -> new LocalL2CacheStore(properties));
+            CacheInvalidationChannel channel = invalidationChannel.getIfAvailable(LocalCacheInvalidationChannel::new);
+            logger.info("Two-tier caching enabled (L2 {}, invalidation via {}, L1 expiry capped at {})",
+                    store.getClass().getSimpleName(), channel.getClass().getSimpleName(),
+                    properties.getL2().getL1ExpireAfterWrite());
+            return new TwoTierCacheManager(properties, store, channel, meterRegistry);
+        }
+
+        EntityWeigher weigher = new EntityWeigher();
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager() {
+            // Unconfigured caches get the defaults, with metrics tagged by their own name
+            @Override
+            protected com.github.benmanes.caffeine.cache.Cache<Object, Object> createNativeCaffeineCache(String name) {
+                return builder(name, properties.getDefaults(), weigher, meterRegistry).build();
+            }
+        };
+
+        long ceiling = 0;
+        for (var entry : properties.getSpecs().entrySet()) {
+            cacheManager.registerCustomCache(entry.getKey(),
+                    builder(entry.getKey(), entry.getValue(), weigher, meterRegistry).build());
+            ceiling += entry.getValue().getMaximumWeight().toBytes();
+        }
+        logger.info("Configured {} caches, combined maximum weight {} MB (plus {} MB per unconfigured cache)",
+                properties.getSpecs().size(), ceiling / (1024 * 1024),
+                properties.getDefaults().getMaximumWeight().toMegabytes());
+        return cacheManager;
+    }
+
+    static Caffeine<Object, Object> builder(String cacheName, CacheProperties.Spec spec, EntityWeigher weigher,
+                                            MeterRegistry meterRegistry) {
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .maximumWeight(spec.getMaximumWeight().toBytes())
+                .weigher(weigher)
+                .recordStats(() -> new MeteredStatsCounter(cacheName, meterRegistry));
+        if (spec.getExpireAfterWrite() != null) {
+            builder.expireAfterWrite(spec.getExpireAfterWrite());
+        }
+        if (spec.getExpireAfterAccess() != null) {
+            builder.expireAfterAccess(spec.getExpireAfterAccess());
+        }
+        return builder;
+    }
+}
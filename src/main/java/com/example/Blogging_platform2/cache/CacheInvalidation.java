@@ -0,0 +1,9 @@
+package com.example.Blogging_platform2.cache;
+
+// One L1 invalidation broadcast to the other nodes; a null key clears the whole cache
+public record CacheInvalidation(String originNodeId, String cacheName, Object key) {
+
+    public boolean isClear() {
+        return key == null;
+    }
+}
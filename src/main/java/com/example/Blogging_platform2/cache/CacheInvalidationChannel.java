@@ -0,0 +1,15 @@
+package com.example.Blogging_platform2.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Cross-node pub/sub for L1 invalidations. Every write through a {@link TwoTierCache} is published
+ * so other nodes drop their near-cache copy and re-read the shared L2. Messages come back to the
+ * publishing node as well; receivers skip their own by node id.
+ */
+public interface CacheInvalidationChannel {
+
+    void publish(CacheInvalidation invalidation);
+
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
@@ -0,0 +1,44 @@
+package com.example.Blogging_platform2.cache;
+
+/**
+ * Cache regions. Each region holds exactly one value type under one key shape, so ids of
+ * different kinds never share a keyspace:
+ * <ul>
+ *   <li>entity-by-id regions hold a single entity keyed by its id</li>
+ *   <li>list-by-parent regions hold a List keyed by the parent id (e.g. post id)</li>
+ *   <li>query/page regions hold a List or Page keyed by the query arguments</li>
+ * </ul>
+ * Writes to an entity evict the list and page regions that can contain it.
+ */
+public final class CacheNames {
+
+    // Entity by id
+    public static final String POSTS = "posts";
+    public static final String COMMENTS = "comments";
+    public static final String REVIEWS = "reviews";
+    public static final String TAGS = "tags";
+    public static final String USERS = "users";
+    public static final String POST_VIEWS = "postViews";
+    public static final String ACTIVITY_LOGS = "activityLogs";
+
+    // Entity by natural key
+    public static final String TAGS_BY_NAME = "tagsByName";
+    public static final String USERS_BY_USERNAME = "usersByUsername";
+
+    // List by parent id
+    public static final String COMMENTS_BY_POST = "commentsByPost";
+    public static final String REVIEWS_BY_POST = "reviewsByPost";
+    public static final String POST_VIEWS_BY_POST = "postViewsByPost";
+
+    // Query results and pages
+    public static final String POST_PAGES = "postPages";
+    public static final String POST_SEARCH = "postSearch";
+    public static final String POSTS_BY_USER = "postsByUser";
+    public static final String REVIEW_LISTS = "reviewLists";
+    public static final String TAG_LISTS = "tagLists";
+    public static final String USER_LISTS = "userLists";
+    public static final String ACTIVITY_LOG_LISTS = "activityLogLists";
+
+    private CacheNames() {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.Blogging_platform2.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-cache Caffeine settings, bound from {@code blog.cache.*}. Every cache is bounded by
+ * weight (approximate bytes, see {@link EntityWeigher}), so the sum of all maximum weights is
+ * the ceiling on heap used by caching. Caches without their own spec use {@code defaults}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.cache")
+public class CacheProperties {
+
+    private Spec defaults = new Spec();
+
+    // Keyed by cache name, e.g. blog.cache.specs[postsByUser].maximum-weight=32MB
+    private Map<String, Spec> specs = new LinkedHashMap<>();
+
+    private L2 l2 = new L2();
+
+    // Threads reloading refresh-ahead entries in the background
+    private int refreshThreads = 2;
+
+    // Keys ranked by reads per cache (HotKeyTracker), for warm-up and the cache stats endpoint
+    private int trackedHotKeys = 500;
+
+    private Warmup warmup = new Warmup();
+
+    @Data
+    public static class Spec {
+
+        private DataSize maximumWeight = DataSize.ofMegabytes(16);
+
+        // Entries are dropped this long after being written, however often they are read
+        private Duration expireAfterWrite = Duration.ofMinutes(10);
+
+        // Optional: also drop entries not read for this long
+        private Duration expireAfterAccess;
+
+        // Optional: entries older than this are served stale and reloaded in the background
+        // (RefreshAheadCache); must be shorter than expireAfterWrite to have an effect
+        private Duration refreshAfterWrite;
+
+        // XFetch weight for early refresh; higher refreshes earlier, 0 disables it
+        private double earlyRefreshBeta = 1.0;
+    }
+
+    // Shared second tier behind the per-node caches, see TwoTierCacheManager
+    @Data
+    public static class L2 {
+
+        private boolean enabled = false;
+
+        // Upper bound on L1 expiry, so a node that misses an invalidation heals on its own
+        private Duration l1ExpireAfterWrite = Duration.ofMinutes(1);
+    }
+
+    // Hot-key snapshots taken while running and replayed on startup, see HotKeySnapshotter
+    @Data
+    public static class Warmup {
+
+        private boolean enabled = true;
+
+        private Path snapshotFile = Path.of("cache-hot-keys.json");
+
+        // Caches whose hottest keys are snapshotted; each needs a loader in CacheWarmer
+        private List<String> caches = List.of(CacheNames.POSTS, CacheNames.TAGS, CacheNames.USERS);
+
+        // Keys kept per cache, hottest first; at most tracked-hot-keys
+        private int topKeys = 500;
+
+        // Loads running in parallel on startup, so warm-up cannot swamp the connection pool
+        private int concurrency = 4;
+
+        // Readiness waits at most this long; keys not loaded by then stay cold
+        private Duration timeout = Duration.ofSeconds(60);
+    }
+
+    public Spec specFor(String cacheName) {
+        return specs.getOrDefault(cacheName, defaults);
+    }
+}
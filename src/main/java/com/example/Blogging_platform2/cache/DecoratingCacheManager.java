@@ -0,0 +1,101 @@
+package com.example.Blogging_platform2.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+
+import java.util.Collection;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Outermost cache manager, decorating the store caches (Caffeine or two-tier):
+ * <ul>
+ *   <li>caches whose spec sets {@code refresh-after-write} are wrapped in a {@link RefreshAheadCache},
+ *       which also hears the invalidations a {@link TwoTierCache} receives from other nodes;</li>
+ *   <li>every cache is then wrapped in a {@link TransactionAwareCacheDecorator}, so puts, evictions
+ *       and clears made inside a transaction only reach the cache after it commits. A rollback, or
+ *       a constraint violation at flush time, leaves the cache as it was;</li>
+ *   <li>reads are counted per key in a {@link HotKeyTracker}, for the hot-key snapshot and the
+ *       cache stats endpoint.</li>
+ * </ul>
+ * Reads are never deferred. Background refreshes run on a small bounded pool owned by this
+ * manager (not a bean, so it does not replace Boot's application task executor).
+ */
+public class DecoratingCacheManager implements CacheManager, DisposableBean {
+
+    private static final int REFRESH_QUEUE_CAPACITY = 1000;
+
+    private final CacheManager delegate;
+    private final CacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final ThreadPoolExecutor refreshExecutor;
+    private final ConcurrentMap<String, Cache> decorated = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, HotKeyTracker> hotKeyTrackers = new ConcurrentHashMap<>();
+
+    public DecoratingCacheManager(CacheManager delegate, CacheProperties properties, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        AtomicInteger threads = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(properties.getRefreshThreads(), properties.getRefreshThreads(),
+                60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(REFRESH_QUEUE_CAPACITY), runnable -> {
+                    Thread thread = new Thread(runnable, "cache-refresh-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.refreshExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        Cache cache = decorated.get(name);
+        if (cache != null) {
+            return cache;
+        }
+        Cache target = delegate.getCache(name);
+        if (target == null) {
+            return null;
+        }
+        return decorated.computeIfAbsent(name, n -> decorate(target));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+
+    // Null for unknown caches
+    public HotKeyTracker getHotKeyTracker(String cacheName) {
+        getCache(cacheName);
+        return hotKeyTrackers.get(cacheName);
+    }
+
+    private Cache decorate(Cache target) {
+        CacheProperties.Spec spec = properties.specFor(target.getName());
+        Cache cache = target;
+        if (spec.getRefreshAfterWrite() != null) {
+            RefreshAheadCache refreshAhead = new RefreshAheadCache(cache, spec.getRefreshAfterWrite(),
+                    spec.getEarlyRefreshBeta(), refreshExecutor, meterRegistry);
+            if (target instanceof TwoTierCache twoTier) {
+                twoTier.addInvalidationListener(refreshAhead::invalidatedElsewhere);
+            }
+            cache = refreshAhead;
+        }
+        cache = new TransactionAwareCacheDecorator(cache);
+        HotKeyTracker tracker = hotKeyTrackers.computeIfAbsent(target.getName(),
+                n -> new HotKeyTracker(properties.getTrackedHotKeys()));
+        return new AccessTrackingCache(cache, tracker);
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.Blogging_platform2.cache;
+
+import com.github.benmanes.caffeine.cache.Weigher;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.Slice;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Approximate retained size in bytes of a cached value. Our own entities and DTOs are walked
+ * field by field (two levels deep), collections only when already initialized, so weighing
+ * never triggers lazy loading. Estimates lean high: strings count two bytes per char.
+ */
+public class EntityWeigher implements Weigher<Object, Object> {
+
+    private static final int OBJECT_HEADER = 16;
+    private static final int REFERENCE = 8;
+    private static final int MAX_DEPTH = 2;
+    private static final String APP_PACKAGE = "com.example.Blogging_platform2";
+
+    private static final ClassValue<Field[]> FIELDS = new ClassValue<>() {
+        @Override
+        protected Field[] computeValue(Class<?> type) {
+            List<Field> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    if (!Modifier.isStatic(field.getModifiers())) {
+                        field.setAccessible(true);
+                        fields.add(field);
+                    }
+                }
+            }
+            return fields.toArray(Field[]::new);
+        }
+    };
+
+    @Override
+    public int weigh(Object key, Object value) {
+        long bytes = weigh(key, 0) + weigh(value, 0);
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(1, bytes));
+    }
+
+    private long weigh(Object value, int depth) {
+        if (value == null) {
+            return 0;
+        }
+        if (!Hibernate.isInitialized(value)) {
+            // Uninitialized proxy or collection: just the wrapper, its contents are not in memory
+            return OBJECT_HEADER + REFERENCE;
+        }
+        if (value instanceof CharSequence text) {
+            return 40 + 2L * text.length();
+        }
+        if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum<?> || value instanceof Temporal) {
+            return 24;
+        }
+        if (value instanceof byte[] bytes) {
+            return OBJECT_HEADER + bytes.length;
+        }
+        if (value instanceof RefreshAheadCache.Stamped stamped) {
+            return 32 + weigh(stamped.value(), depth);
+        }
+        if (value instanceof Optional<?> optional) {
+            return OBJECT_HEADER + weigh(optional.orElse(null), depth);
+        }
+        if (value instanceof Slice<?> slice) {
+            return 64 + weigh(slice.getContent(), depth);
+        }
+        if (value instanceof Collection<?> collection) {
+            long bytes = 32 + (long) REFERENCE * collection.size();
+            if (depth < MAX_DEPTH) {
+                for (Object element : collection) {
+                    bytes += weigh(element, depth + 1);
+                }
+            }
+            return bytes;
+        }
+        if (value instanceof Map<?, ?> map) {
+            long bytes = 48 + 32L * map.size();
+            if (depth < MAX_DEPTH) {
+                for (Map.Entry<?, ?> entry : map.entrySet()) {
+                    bytes += weigh(entry.getKey(), depth + 1) + weigh(entry.getValue(), depth + 1);
+                }
+            }
+            return bytes;
+        }
+        if (!value.getClass().getName().startsWith(APP_PACKAGE) || depth >= MAX_DEPTH) {
+            // Framework types and anything deeper than we walk: a flat guess
+            return 64;
+        }
+        return weighFields(value, depth);
+    }
+
+    private long weighFields(Object value, int depth) {
+        long bytes = OBJECT_HEADER;
+        for (Field field : FIELDS.get(value.getClass())) {
+            bytes += REFERENCE;
+            if (!field.getType().isPrimitive()) {
+                try {
+                    bytes += weigh(field.get(value), depth + 1);
+                } catch (IllegalAccessException e) {
+                    bytes += 64;
+                }
+            }
+        }
+        return bytes;
+    }
+}
@@ -0,0 +1,105 @@
+package com.example.Blogging_platform2.cache;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Periodically writes the hottest keys of the warm-up caches to a local JSON file, ranked by the
+ * {@link HotKeyTracker} top-K, and once more on shutdown so a deploy starts from the latest
+ * traffic. {@code CacheWarmer} replays the file. (Caffeine's own {@code hottest()} is not used:
+ * its frequency sketch only starts once a cache is half full, which ours rarely are.)
+ */
+@Component
+public class HotKeySnapshotter {
+
+    private static final Logger logger = LoggerFactory.getLogger(HotKeySnapshotter.class);
+
+    private final DecoratingCacheManager cacheManager;
+    private final CacheProperties.Warmup warmup;
+    private final ObjectMapper objectMapper;
+
+    public HotKeySnapshotter(DecoratingCacheManager cacheManager, CacheProperties properties, ObjectMapper objectMapper) {
+        this.cacheManager = cacheManager;
+        this.warmup = properties.getWarmup();
+        this.objectMapper = objectMapper;
+    }
+
+    @Scheduled(initialDelayString = "${blog.cache.warmup.snapshot-interval-ms:300000}",
+               fixedDelayString = "${blog.cache.warmup.snapshot-interval-ms:300000}")
+    public void scheduledSnapshot() {
+        writeSnapshot();
+        // Halve all counts, so rankings (here and in the cache stats) follow current traffic
+        cacheManager.getCacheNames().forEach(cacheName -> {
+            HotKeyTracker tracker = cacheManager.getHotKeyTracker(cacheName);
+            if (tracker != null) {
+                tracker.decay();
+            }
+        });
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        writeSnapshot();
+    }
+
+    public void writeSnapshot() {
+        if (!warmup.isEnabled()) {
+            return;
+        }
+        Map<String, List<Object>> hotKeys = hottestKeys();
+        if (hotKeys.values().stream().allMatch(List::isEmpty)) {
+            // Nothing cached yet (e.g. stopped right after startup): keep the previous snapshot
+            return;
+        }
+        Path file = warmup.getSnapshotFile().toAbsolutePath();
+        try {
+            Path parent = file.getParent();
+            Files.createDirectories(parent);
+            // Write aside and rename, so a crash mid-write never leaves a truncated snapshot
+            Path tmp = Files.createTempFile(parent, file.getFileName().toString(), ".tmp");
+            objectMapper.writeValue(tmp.toFile(), hotKeys);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            logger.debug("Wrote cache hot-key snapshot to {}", file);
+        } catch (IOException e) {
+            logger.warn("Could not write cache hot-key snapshot to {}: {}", file, e.getMessage());
+        }
+    }
+
+    // Cache name -> ids, hottest first; empty when there is no usable snapshot
+    public Map<String, List<Long>> readSnapshot() {
+        Path file = warmup.getSnapshotFile().toAbsolutePath();
+        if (!Files.isReadable(file)) {
+            return Map.of();
+        }
+        try {
+            return objectMapper.readValue(file.toFile(), new TypeReference<Map<String, List<Long>>>() { });
+        } catch (IOException e) {
+            logger.warn("Ignoring unreadable cache hot-key snapshot {}: {}", file, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    Map<String, List<Object>> hottestKeys() {
+        Map<String, List<Object>> hotKeys = new LinkedHashMap<>();
+        for (String cacheName : warmup.getCaches()) {
+            HotKeyTracker tracker = cacheManager.getHotKeyTracker(cacheName);
+            if (tracker != null) {
+                hotKeys.put(cacheName, tracker.hottest(warmup.getTopKeys()));
+            }
+        }
+        return hotKeys;
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.Blogging_platform2.cache;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Approximate top-K of the keys read from one cache. At most a few times K keys are counted; once
+ * that fills up, the least read half is dropped, so one-off reads fall out while frequently read
+ * keys keep their counts and memory stays bounded however many distinct keys are read. Counts are
+ * halved after every snapshot so the ranking follows current traffic.
+ */
+public class HotKeyTracker {
+
+    private static final int CAPACITY_FACTOR = 4;
+
+    private static final Comparator<Map.Entry<Object, LongAdder>> MOST_READ_FIRST =
+            Comparator.comparingLong((Map.Entry<Object, LongAdder> e) -> e.getValue().sum()).reversed();
+
+    private final ConcurrentHashMap<Object, LongAdder> counts = new ConcurrentHashMap<>();
+    private final int capacity;
+
+    public HotKeyTracker(int topKeys) {
+        this.capacity = Math.max(topKeys * CAPACITY_FACTOR, 2);
+    }
+
+    public void recordAccess(Object key) {
+        LongAdder count = counts.get(key);
+        if (count == null) {
+            if (counts.size() >= capacity) {
+                prune();
+            }
+            count = counts.computeIfAbsent(key, k -> new LongAdder());
+        }
+        count.increment();
+    }
+
+    public List<Object> hottest(int limit) {
+        return counts.entrySet().stream()
+                .sorted(MOST_READ_FIRST)
+                .limit(limit)
+                .map(Map.Entry::getKey)
+                .toList();
+    }
+
+    // Racy against concurrent increments, which only costs a few counts
+    public void decay() {
+        counts.values().forEach(count -> count.add(-(count.sum() / 2)));
+    }
+
+    private synchronized void prune() {
+        if (counts.size() < capacity) {
+            return;
+        }
+        counts.entrySet().stream()
+                .sorted(MOST_READ_FIRST)
+                .skip(capacity / 2)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(counts::remove);
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.Blogging_platform2.cache;
+
+import java.time.Duration;
+
+/**
+ * Shared second-level cache behind every node's Caffeine L1 (see {@link TwoTierCache}). Values are
+ * the L1 store values, never null ({@code NullValue} stands in for cached nulls). A Redis or
+ * Hazelcast backed bean replaces {@link LocalL2CacheStore} when one is defined.
+ */
+public interface L2CacheStore {
+
+    // Returns null on a miss
+    Object get(String cacheName, Object key);
+
+    // A null time to live keeps the entry until it is evicted
+    void put(String cacheName, Object key, Object value, Duration timeToLive);
+
+    void evict(String cacheName, Object key);
+
+    void clear(String cacheName);
+}
@@ -0,0 +1,33 @@
+package com.example.Blogging_platform2.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+// In-process stand-in for a pub/sub channel; delivers synchronously on the publishing thread
+public class LocalCacheInvalidationChannel implements CacheInvalidationChannel {
+
+    private static final Logger logger = LoggerFactory.getLogger(LocalCacheInvalidationChannel.class);
+
+    private final List<Consumer<CacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (Consumer<CacheInvalidation> listener : listeners) {
+            try {
+                listener.accept(invalidation);
+            } catch (RuntimeException e) {
+                // One failing node must not keep the others from invalidating
+                logger.warn("Cache invalidation listener failed for {}: {}", invalidation, e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        listeners.add(listener);
+    }
+}
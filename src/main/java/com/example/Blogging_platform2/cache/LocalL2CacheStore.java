@@ -0,0 +1,74 @@
+package com.example.Blogging_platform2.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-process stand-in for a distributed L2: one Caffeine region per cache name, bounded by the
+ * same weight as the L1 spec and expiring each entry after the time to live it was written with.
+ * Shared by every {@link TwoTierCacheManager} in the JVM, which is enough to run and test the
+ * two-tier path without external services.
+ */
+public class LocalL2CacheStore implements L2CacheStore {
+
+    private final CacheProperties properties;
+    private final EntityWeigher weigher = new EntityWeigher();
+    private final ConcurrentMap<String, Cache<Object, Entry>> regions = new ConcurrentHashMap<>();
+
+    public LocalL2CacheStore(CacheProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public Object get(String cacheName, Object key) {
+        Entry entry = region(cacheName).getIfPresent(key);
+        return entry != null ? entry.value() : null;
+    }
+
+    @Override
+    public void put(String cacheName, Object key, Object value, Duration timeToLive) {
+        long ttlNanos = timeToLive != null ? timeToLive.toNanos() : Long.MAX_VALUE;
+        region(cacheName).put(key, new Entry(value, ttlNanos));
+    }
+
+    @Override
+    public void evict(String cacheName, Object key) {
+        region(cacheName).invalidate(key);
+    }
+
+    @Override
+    public void clear(String cacheName) {
+        region(cacheName).invalidateAll();
+    }
+
+    private Cache<Object, Entry> region(String cacheName) {
+        return regions.computeIfAbsent(cacheName, name -> Caffeine.newBuilder()
+                .maximumWeight(properties.specFor(name).getMaximumWeight().toBytes())
+                .<Object, Entry>weigher((key, entry) -> weigher.weigh(key, entry.value()))
+                .expireAfter(new Expiry<Object, Entry>() {
+                    @Override
+                    public long expireAfterCreate(Object key, Entry entry, long currentTime) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(Object key, Entry entry, long currentTime, long currentDuration) {
+                        return entry.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(Object key, Entry entry, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build());
+    }
+
+    private record Entry(Object value, long ttlNanos) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.Blogging_platform2.cache;
+
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.github.benmanes.caffeine.cache.stats.ConcurrentStatsCounter;
+import com.github.benmanes.caffeine.cache.stats.StatsCounter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caffeine stats counter that keeps the usual totals and also publishes what they lack: load
+ * time percentiles ({@code blog.cache.loads{cache,result}}) and evictions per cause
+ * ({@code blog.cache.evictions{cache,cause}}). Loads are only timed when the loader runs inside
+ * Caffeine, i.e. for {@code @Cacheable(sync = true)}; other misses are loaded by the proxy.
+ */
+public class MeteredStatsCounter implements StatsCounter {
+
+    public static final String LOADS = "blog.cache.loads";
+    public static final String EVICTIONS = "blog.cache.evictions";
+
+    private final StatsCounter totals = new ConcurrentStatsCounter();
+    private final Timer loadSuccesses;
+    private final Timer loadFailures;
+    private final Map<RemovalCause, Counter> evictions = new EnumMap<>(RemovalCause.class);
+
+    public MeteredStatsCounter(String cacheName, MeterRegistry meterRegistry) {
+        this.loadSuccesses = loadTimer(cacheName, "success", meterRegistry);
+        this.loadFailures = loadTimer(cacheName, "failure", meterRegistry);
+        for (RemovalCause cause : RemovalCause.values()) {
+            if (cause.wasEvicted()) {
+                evictions.put(cause, Counter.builder(EVICTIONS)
+                        .description("Entries evicted from a cache, by cause")
+                        .tag("cache", cacheName)
+                        .tag("cause", cause.name().toLowerCase())
+                        .register(meterRegistry));
+            }
+        }
+    }
+
+    @Override
+    public void recordHits(int count) {
+        totals.recordHits(count);
+    }
+
+    @Override
+    public void recordMisses(int count) {
+        totals.recordMisses(count);
+    }
+
+    @Override
+    public void recordLoadSuccess(long loadTime) {
+        totals.recordLoadSuccess(loadTime);
+        loadSuccesses.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordLoadFailure(long loadTime) {
+        totals.recordLoadFailure(loadTime);
+        loadFailures.record(loadTime, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordEviction(int weight, RemovalCause cause) {
+        totals.recordEviction(weight, cause);
+        Counter counter = evictions.get(cause);
+        if (counter != null) {
+            counter.increment();
+        }
+    }
+
+    @Override
+    public CacheStats snapshot() {
+        return totals.snapshot();
+    }
+
+    private static Timer loadTimer(String cacheName, String result, MeterRegistry meterRegistry) {
+        return Timer.builder(LOADS)
+                .description("Time taken to load a missing cache entry")
+                .tag("cache", cacheName)
+                .tag("result", result)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,210 @@
+package com.example.Blogging_platform2.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Refresh-ahead decorator for hot read caches, used with {@code @Cacheable(sync = true)}.
+ * <ul>
+ *   <li>Misses are single-flight: the delegate's {@code get(key, loader)} runs one loader per key
+ *       and concurrent callers wait for it.</li>
+ *   <li>Entries older than {@code refreshAfterWrite} are still served (stale-while-revalidate)
+ *       while one background reload per key replaces them. They are only missed once the
+ *       delegate's hard {@code expireAfterWrite} drops them.</li>
+ *   <li>Before that, each hit may refresh early with a probability that grows as the entry ages
+ *       and with how long it took to load (XFetch: refresh when
+ *       {@code now - loadTime * beta * ln(rand) >= refreshAt}), so hot keys rarely go stale at all.</li>
+ * </ul>
+ * Values are stored as {@link Stamped} to remember when they were written and how long they took.
+ */
+public class RefreshAheadCache implements Cache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshAheadCache.class);
+
+    private final Cache delegate;
+    private final long refreshAfterWriteMs;
+    private final double beta;
+    private final Executor executor;
+
+    // Key -> token of the refresh in flight; an evict or put, here or on another node, removes it so
+    // a late refresh is dropped
+    private final ConcurrentMap<Object, Object> refreshing = new ConcurrentHashMap<>();
+
+    private final Counter earlyRefreshes;
+    private final Counter staleRefreshes;
+    private final Counter failedRefreshes;
+
+    public RefreshAheadCache(Cache delegate, Duration refreshAfterWrite, double beta,
+                             Executor executor, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.refreshAfterWriteMs = refreshAfterWrite.toMillis();
+        this.beta = beta;
+        this.executor = executor;
+        this.earlyRefreshes = refreshCounter(meterRegistry, "early");
+        this.staleRefreshes = refreshCounter(meterRegistry, "stale");
+        this.failedRefreshes = Counter.builder("blog.cache.refresh.failures")
+                .tag("cache", delegate.getName())
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    // Plain lookups (non-sync @Cacheable) have no loader to refresh with, they only unwrap
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper wrapper = delegate.get(key);
+        return wrapper != null ? new SimpleValueWrapper(unwrap(wrapper.get())) : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper wrapper = get(key);
+        Object value = wrapper != null ? wrapper.get() : null;
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [" + type.getName() + "]: " + value);
+        }
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper cached = delegate.get(key);
+        if (cached != null && cached.get() instanceof Stamped stamped) {
+            long now = System.currentTimeMillis();
+            long refreshAt = stamped.writtenAtMs() + refreshAfterWriteMs;
+            if (now >= refreshAt) {
+                refreshAsync(key, valueLoader, staleRefreshes);
+            } else if (now + earlyRefreshGapMs(stamped) >= refreshAt) {
+                refreshAsync(key, valueLoader, earlyRefreshes);
+            }
+            return (T) stamped.value();
+        }
+        Stamped loaded = (Stamped) delegate.get(key, () -> load(valueLoader));
+        return (T) loaded.value();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        refreshing.remove(key);
+        delegate.put(key, new Stamped(value, System.currentTimeMillis(), 0));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        ValueWrapper existing = delegate.putIfAbsent(key, new Stamped(value, System.currentTimeMillis(), 0));
+        return existing != null ? new SimpleValueWrapper(unwrap(existing.get())) : null;
+    }
+
+    @Override
+    public void evict(Object key) {
+        refreshing.remove(key);
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        refreshing.remove(key);
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        refreshing.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        refreshing.clear();
+        return delegate.invalidate();
+    }
+
+    // Another node wrote or evicted the entry (see TwoTierCache); a refresh that started before
+    // then would put back the old value
+    void invalidatedElsewhere(CacheInvalidation invalidation) {
+        if (invalidation.isClear()) {
+            refreshing.clear();
+        } else {
+            refreshing.remove(invalidation.key());
+        }
+    }
+
+    // -loadTime * beta * ln(U) with U in (0, 1]: usually small, occasionally large for slow loads
+    private double earlyRefreshGapMs(Stamped stamped) {
+        double loadMs = stamped.loadNanos() / 1_000_000.0;
+        return -loadMs * beta * Math.log(1.0 - ThreadLocalRandom.current().nextDouble());
+    }
+
+    private void refreshAsync(Object key, Callable<?> valueLoader, Counter reason) {
+        Object token = new Object();
+        if (refreshing.putIfAbsent(key, token) != null) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    Stamped fresh = load(valueLoader);
+                    // Only write back if no put/evict happened while loading
+                    refreshing.computeIfPresent(key, (k, current) -> {
+                        if (current == token) {
+                            delegate.put(k, fresh);
+                        }
+                        return current == token ? null : current;
+                    });
+                    reason.increment();
+                } catch (Exception e) {
+                    refreshing.remove(key, token);
+                    failedRefreshes.increment();
+                    logger.debug("Background refresh of {}::{} failed: {}", getName(), key, e.toString());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Refresh pool saturated: keep serving the current value, a later hit will retry
+            refreshing.remove(key, token);
+        }
+    }
+
+    private static Stamped load(Callable<?> valueLoader) throws Exception {
+        long start = System.nanoTime();
+        Object value = valueLoader.call();
+        return new Stamped(value, System.currentTimeMillis(), System.nanoTime() - start);
+    }
+
+    private static Object unwrap(Object stored) {
+        return stored instanceof Stamped stamped ? stamped.value() : stored;
+    }
+
+    private Counter refreshCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("blog.cache.refreshes")
+                .description("Background refreshes of cache entries, by what triggered them")
+                .tag("cache", delegate.getName())
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    // Wall-clock write time so the stamp stays meaningful in a shared L2
+    record Stamped(Object value, long writtenAtMs, long loadNanos) {
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.Blogging_platform2.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Near cache: a node-local Caffeine L1 in front of the shared {@link L2CacheStore}. Reads try
+ * L1, then L2 (copying hits into L1), then the loader. Writes go to L2 first, then L1, and are
+ * broadcast so every other node drops its L1 copy and picks up the new value from L2.
+ * Hits and misses are counted per tier as {@code blog.cache.tier.gets}.
+ */
+public class TwoTierCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final com.github.benmanes.caffeine.cache.Cache<Object, Object> l1;
+    private final L2CacheStore l2;
+    private final Duration l2TimeToLive;
+    private final CacheInvalidationChannel channel;
+    private final String nodeId;
+
+    private final Counter l1Hits;
+    private final Counter l1Misses;
+    private final Counter l2Hits;
+    private final Counter l2Misses;
+    private final Counter invalidationsReceived;
+
+    // Decorators that keep per-key state of their own, told when another node changed an entry
+    private final List<Consumer<CacheInvalidation>> invalidationListeners = new CopyOnWriteArrayList<>();
+
+    public TwoTierCache(String name,
+                        com.github.benmanes.caffeine.cache.Cache<Object, Object> l1,
+                        L2CacheStore l2,
+                        Duration l2TimeToLive,
+                        CacheInvalidationChannel channel,
+                        String nodeId,
+                        MeterRegistry meterRegistry) {
+        super(true);
+        this.name = name;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.l2TimeToLive = l2TimeToLive;
+        this.channel = channel;
+        this.nodeId = nodeId;
+        this.l1Hits = tierCounter(meterRegistry, "l1", "hit");
+        this.l1Misses = tierCounter(meterRegistry, "l1", "miss");
+        this.l2Hits = tierCounter(meterRegistry, "l2", "hit");
+        this.l2Misses = tierCounter(meterRegistry, "l2", "miss");
+        this.invalidationsReceived = Counter.builder("blog.cache.invalidations.received")
+                .description("L1 invalidations received from other nodes")
+                .tag("cache", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    // The L1 Caffeine cache, so existing stats readers keep working
+    @Override
+    public com.github.benmanes.caffeine.cache.Cache<Object, Object> getNativeCache() {
+        return l1;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = l1.getIfPresent(key);
+        if (value != null) {
+            l1Hits.increment();
+            return value;
+        }
+        l1Misses.increment();
+        value = l2.get(name, key);
+        if (value != null) {
+            l2Hits.increment();
+            l1.put(key, value);
+        } else {
+            l2Misses.increment();
+        }
+        return value;
+    }
+
+    // Caffeine runs the mapping once per key, so concurrent misses on this node share one load
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object value = l1.getIfPresent(key);
+        if (value != null) {
+            l1Hits.increment();
+        } else {
+            l1Misses.increment();
+            value = l1.get(key, k -> loadThroughL2(k, valueLoader));
+        }
+        return (T) fromStoreValue(value);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        l2.put(name, key, storeValue, l2TimeToLive);
+        l1.put(key, storeValue);
+        channel.publish(new CacheInvalidation(nodeId, name, key));
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(name, key);
+        l1.invalidate(key);
+        channel.publish(new CacheInvalidation(nodeId, name, key));
+    }
+
+    @Override
+    public void clear() {
+        l2.clear(name);
+        l1.invalidateAll();
+        channel.publish(new CacheInvalidation(nodeId, name, null));
+    }
+
+    // Another node changed this entry in L2; only the local copy has to go
+    void invalidateLocal(CacheInvalidation invalidation) {
+        invalidationsReceived.increment();
+        if (invalidation.isClear()) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(invalidation.key());
+        }
+        invalidationListeners.forEach(listener -> listener.accept(invalidation));
+    }
+
+    void addInvalidationListener(Consumer<CacheInvalidation> listener) {
+        invalidationListeners.add(listener);
+    }
+
+    private Object loadThroughL2(Object key, Callable<?> valueLoader) {
+        Object stored = l2.get(name, key);
+        if (stored != null) {
+            l2Hits.increment();
+            return stored;
+        }
+        l2Misses.increment();
+        Object loaded;
+        try {
+            loaded = toStoreValue(valueLoader.call());
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+        l2.put(name, key, loaded, l2TimeToLive);
+        return loaded;
+    }
+
+    private Counter tierCounter(MeterRegistry meterRegistry, String tier, String result) {
+        return Counter.builder("blog.cache.tier.gets")
+                .description("Two-tier cache lookups by tier and result")
+                .tag("cache", name)
+                .tag("tier", tier)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.Blogging_platform2.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * {@link CacheManager} of {@link TwoTierCache}s, one per cache name, all sharing one L2 store and
+ * one invalidation channel. Each manager is one node: it has its own id and ignores the
+ * invalidations it published itself. L1 keeps the per-cache weight bound from
+ * {@link CacheProperties}, but its expiry is capped by {@code blog.cache.l2.l1-expire-after-write}
+ * so a lost invalidation only leaves a node stale for that long.
+ */
+public class TwoTierCacheManager implements CacheManager {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final CacheProperties properties;
+    private final L2CacheStore l2;
+    private final CacheInvalidationChannel channel;
+    private final MeterRegistry meterRegistry;
+    private final EntityWeigher weigher = new EntityWeigher();
+    private final ConcurrentMap<String, TwoTierCache> caches = new ConcurrentHashMap<>();
+
+    public TwoTierCacheManager(CacheProperties properties,
+                               L2CacheStore l2,
+                               CacheInvalidationChannel channel,
+                               MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.l2 = l2;
+        this.channel = channel;
+        this.meterRegistry = meterRegistry;
+        properties.getSpecs().keySet().forEach(this::getCache);
+        channel.subscribe(this::onInvalidation);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::createCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    private TwoTierCache createCache(String name) {
+        CacheProperties.Spec spec = properties.specFor(name);
+        return new TwoTierCache(name, CacheConfig.builder(name, nearCacheSpec(spec), weigher, meterRegistry).build(),
+                l2, spec.getExpireAfterWrite(), channel, nodeId, meterRegistry);
+    }
+
+    // Same bounds as the configured spec, with the write expiry capped for the near cache
+    private CacheProperties.Spec nearCacheSpec(CacheProperties.Spec spec) {
+        Duration cap = properties.getL2().getL1ExpireAfterWrite();
+        if (cap == null || (spec.getExpireAfterWrite() != null && spec.getExpireAfterWrite().compareTo(cap) <= 0)) {
+            return spec;
+        }
+        CacheProperties.Spec nearCache = new CacheProperties.Spec();
+        nearCache.setMaximumWeight(spec.getMaximumWeight());
+        nearCache.setExpireAfterWrite(cap);
+        nearCache.setExpireAfterAccess(spec.getExpireAfterAccess());
+        return nearCache;
+    }
+
+    private void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.originNodeId())) {
+            return;
+        }
+        TwoTierCache cache = caches.get(invalidation.cacheName());
+        if (cache != null) {
+            cache.invalidateLocal(invalidation);
+        }
+    }
+}
@@ -28,18 +28,7 @@ public class ActivityLogController {
     @PostMapping
     @Operation(summary = "Create a new activity log")
     public ResponseEntity<ApiResponse<ActivityLogDto>> createLog(@Valid @RequestBody ActivityLogDto dto) {
-        ActivityLog log = new ActivityLog();
-
-        User user = new User();
-        user.setId(dto.getUserId());
-        log.setUser(user);
-
-        log.setAction(dto.getAction());
-        log.setTargetId(dto.getTargetId());
-        log.setDetails(dto.getDetails());
-        log.setTimestamp(dto.getTimestamp());
-
-        ActivityLog created = service.saveLog(log);
+        ActivityLog created = service.saveLog(convertToEntity(dto));
         ActivityLogDto responseDto = convertToDto(created);
 
         return new ResponseEntity<>(
@@ -48,6 +37,19 @@ public class ActivityLogController {
         );
     }
 
+    @PostMapping("/batch")
+    @Operation(summary = "Create many activity logs in one transaction")
+    public ResponseEntity<ApiResponse<List<ActivityLogDto>>> createLogs(@RequestBody List<@Valid ActivityLogDto> dtos) {
+        List<ActivityLogDto> created = service.saveLogs(dtos.stream().map(this::convertToEntity).toList()).stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+
+        return new ResponseEntity<>(
+                ApiResponse.success("Logged " + created.size() + " activities", created),
+                HttpStatus.CREATED
+        );
+    }
+
     @GetMapping
     @Operation(summary = "Get all activity logs")
     public ResponseEntity<ApiResponse<List<ActivityLogDto>>> getAllLogs() {
@@ -78,6 +80,20 @@ public class ActivityLogController {
         return ResponseEntity.ok(ApiResponse.success("Log deleted successfully"));
     }
 
+    private ActivityLog convertToEntity(ActivityLogDto dto) {
+        ActivityLog log = new ActivityLog();
+
+        User user = new User();
+        user.setId(dto.getUserId());
+        log.setUser(user);
+
+        log.setAction(dto.getAction());
+        log.setTargetId(dto.getTargetId());
+        log.setDetails(dto.getDetails());
+        log.setTimestamp(dto.getTimestamp());
+        return log;
+    }
+
     private ActivityLogDto convertToDto(ActivityLog log) {
         ActivityLogDto dto = new ActivityLogDto();
         dto.setId(log.getId());
@@ -1,26 +1,57 @@
 package com.example.Blogging_platform2.controller;
 
-import org.springframework.cache.Cache;
-import org.springframework.cache.CacheManager;
-import org.springframework.cache.caffeine.CaffeineCache;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.RestController;
+import com.example.Blogging_platform2.dto.ApiResponse;
+import com.example.Blogging_platform2.dto.CacheStatsDto;
+import com.example.Blogging_platform2.service.CacheStatsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
 
 @RestController
+@RequestMapping("/cache-stats")
+@Tag(name = "Cache Management", description = "Stats and runtime tuning for the application caches")
+@RequiredArgsConstructor
 public class CacheStatsController {
 
-    private final CacheManager cacheManager;
+    private static final int MAX_TOP_KEYS = 100;
+
+    private final CacheStatsService cacheStatsService;
+
+    @GetMapping
+    @Operation(summary = "Get stats for every cache")
+    public ResponseEntity<ApiResponse<List<CacheStatsDto>>> getAllStats(@RequestParam(defaultValue = "10") int top) {
+        List<CacheStatsDto> stats = cacheStatsService.getAllStats(Math.min(top, MAX_TOP_KEYS));
+        return ResponseEntity.ok(ApiResponse.success("Retrieved stats for " + stats.size() + " caches", stats));
+    }
+
+    @GetMapping("/{name}")
+    @Operation(summary = "Get stats for one cache, with its hottest keys")
+    public ResponseEntity<ApiResponse<CacheStatsDto>> getStats(@PathVariable String name,
+                                                               @RequestParam(defaultValue = "10") int top) {
+        return ResponseEntity.ok(ApiResponse.success("Cache stats retrieved",
+                cacheStatsService.getStats(name, Math.min(top, MAX_TOP_KEYS))));
+    }
 
-    public CacheStatsController(CacheManager cacheManager) {
-        this.cacheManager = cacheManager;
+    @PreAuthorize("hasRole('ADMIN')")
+    @DeleteMapping("/{name}")
+    @Operation(summary = "Remove every entry from a cache")
+    public ResponseEntity<ApiResponse<Void>> clear(@PathVariable String name) {
+        cacheStatsService.clear(name);
+        return ResponseEntity.ok(ApiResponse.success("Cache " + name + " cleared"));
     }
 
-    @GetMapping("/cache-stats/reviews")
-    public String getReviewCacheStats() {
-        Cache cache = cacheManager.getCache("reviews");
-        if (cache instanceof CaffeineCache caffeineCache) {
-            return caffeineCache.getNativeCache().stats().toString();
-        }
-        return "No stats available";
+    // e.g. PUT /cache-stats/posts/maximum-weight?size=64MB; lasts until the next restart
+    @PreAuthorize("hasRole('ADMIN')")
+    @PutMapping("/{name}/maximum-weight")
+    @Operation(summary = "Change the maximum weight of a cache")
+    public ResponseEntity<ApiResponse<CacheStatsDto>> resize(@PathVariable String name, @RequestParam String size) {
+        return ResponseEntity.ok(ApiResponse.success("Cache " + name + " resized",
+                cacheStatsService.resize(name, DataSize.parse(size))));
     }
 }
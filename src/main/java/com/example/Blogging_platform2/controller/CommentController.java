@@ -1,9 +1,9 @@
 package com.example.Blogging_platform2.controller;
 
 import com.example.Blogging_platform2.dto.ApiResponse;
+import com.example.Blogging_platform2.dto.CommentDetail;
 import com.example.Blogging_platform2.dto.CommentDto;
 import com.example.Blogging_platform2.exception.CommentNotFoundException;
-import com.example.Blogging_platform2.model.Comment;
 import com.example.Blogging_platform2.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -27,7 +27,7 @@ public class CommentController {
     @PostMapping
     @Operation(summary = "Create a new comment")
     public ResponseEntity<ApiResponse<CommentDto>> createComment(@Valid @RequestBody CommentDto dto) {
-        Comment created = commentService.saveComment(dto);
+        CommentDetail created = commentService.saveComment(dto);
         CommentDto responseDto = convertToDto(created);
 
         return new ResponseEntity<>(
@@ -38,7 +38,7 @@ public class CommentController {
 
     @GetMapping("/posts/{postId}/comments")
     public ResponseEntity<ApiResponse<List<CommentDto>>> getCommentsByPost(@PathVariable Long postId) {
-        List<Comment> comments = commentService.getCommentsByPost(postId);
+        List<CommentDetail> comments = commentService.getCommentsByPost(postId);
         List<CommentDto> dtos = comments.stream()
                 .map(this::convertToDto)
                 .toList();
@@ -52,7 +52,7 @@ public class CommentController {
     @GetMapping("/{id}")
     @Operation(summary = "Get comment by ID")
     public ResponseEntity<ApiResponse<CommentDto>> getComment(@PathVariable Long id) {
-        Comment comment = commentService.getCommentById(id);
+        CommentDetail comment = commentService.getCommentById(id);
         if (comment == null) {
             throw new CommentNotFoundException("Comment with ID " + id + " not found");
         }
@@ -69,13 +69,13 @@ public class CommentController {
         return ResponseEntity.ok(ApiResponse.success("Comment deleted successfully"));
     }
 
-    private CommentDto convertToDto(Comment comment) {
+    private CommentDto convertToDto(CommentDetail comment) {
         CommentDto dto = new CommentDto();
-        dto.setId(comment.getId());
-        dto.setPostId(comment.getPost().getId());
-        dto.setUserId(comment.getUser().getId());
-        dto.setContent(comment.getContent());
-        dto.setCreatedAt(comment.getCreatedAt());
+        dto.setId(comment.id());
+        dto.setPostId(comment.postId());
+        dto.setUserId(comment.userId());
+        dto.setContent(comment.content());
+        dto.setCreatedAt(comment.createdAt());
         return dto;
     }
 }
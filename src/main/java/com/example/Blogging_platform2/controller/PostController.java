@@ -1,11 +1,19 @@
 package com.example.Blogging_platform2.controller;
 
 import com.example.Blogging_platform2.dto.ApiResponse;
+import com.example.Blogging_platform2.dto.BulkImportResult;
+import com.example.Blogging_platform2.dto.CursorPageDto;
+import com.example.Blogging_platform2.dto.PostDetail;
 import com.example.Blogging_platform2.dto.PostDto;
-import com.example.Blogging_platform2.exception.PostNotFoundException;
+import com.example.Blogging_platform2.dto.PostSearchHit;
+import com.example.Blogging_platform2.dto.PostSummary;
+import com.example.Blogging_platform2.dto.TrendingPostDto;
 import com.example.Blogging_platform2.model.Post;
 import com.example.Blogging_platform2.model.User;
+import com.example.Blogging_platform2.service.PostBulkService;
 import com.example.Blogging_platform2.service.PostService;
+import com.example.Blogging_platform2.service.PostStatsService;
+import com.example.Blogging_platform2.service.TrendingService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -14,9 +22,18 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+import java.util.OptionalInt;
 
 @RestController
 @RequestMapping("/api/posts")
@@ -25,31 +42,85 @@ import org.springframework.web.bind.annotation.*;
 public class PostController {
 
     private final PostService postService;
+    private final PostBulkService postBulkService;
+    private final PostStatsService postStatsService;
+    private final TrendingService trendingService;
 
     @GetMapping
     @Operation(summary = "Get all posts with pagination and sorting")
-    public ResponseEntity<ApiResponse<Page<PostDto>>> getAllPosts(
+    public ResponseEntity<ApiResponse<Page<PostSummary>>> getAllPosts(
             @Parameter(description = "Page number (starts from 0)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Number of posts per page") @RequestParam(defaultValue = "10") int size,
             @Parameter(description = "Sort field: createdAt, title, or updatedAt") @RequestParam(defaultValue = "createdAt") String sort) {
 
-        Page<PostDto> postDtos = postService.getAllPosts(page, size, sort)
-                .map(this::convertToDto);
+        Page<PostSummary> posts = postService.getAllPosts(page, size, sort);
+        return ResponseEntity.ok(ApiResponse.success("Retrieved posts", posts));
+    }
+
+    @GetMapping("/scroll")
+    @Operation(summary = "Get posts newest first using cursor (keyset) pagination, without a total count")
+    public ResponseEntity<ApiResponse<CursorPageDto<PostDetail>>> scrollPosts(
+            @Parameter(description = "Opaque cursor from the previous page's nextCursor; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Number of posts per page (max 100)") @RequestParam(defaultValue = "10") int size) {
+
+        CursorPageDto<PostDetail> posts = postService.getPostsAfter(cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Retrieved " + posts.getItems().size() + " posts", posts));
+    }
+
+    // e.g. curl -X POST -H 'Content-Type: application/x-ndjson' --data-binary @posts.ndjson .../api/posts/bulk
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(value = "/bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Import posts from NDJSON (one PostDto per line), reporting failed rows by line number")
+    public ResponseEntity<ApiResponse<BulkImportResult>> importPosts(InputStream body) throws IOException {
+        BulkImportResult result = postBulkService.importPosts(body);
+        return ResponseEntity.ok(ApiResponse.success(
+                "Imported " + result.imported() + " posts, " + result.failed() + " failed", result));
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Export all posts as NDJSON, streamed")
+    public ResponseEntity<StreamingResponseBody> exportPosts() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=posts.ndjson")
+                .body(postBulkService::exportPosts);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/stats/rebuild")
+    @Operation(summary = "Recompute comment, view and rating counters of every post from the source tables")
+    public ResponseEntity<ApiResponse<Integer>> rebuildStats() {
+        OptionalInt corrected = postStatsService.rebuild();
+        if (corrected.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT)
+                    .body(ApiResponse.error("Post stats are being rebuilt by another node, try again later"));
+        }
+        return ResponseEntity.ok(ApiResponse.success(
+                "Rebuilt post stats, " + corrected.getAsInt() + " rows corrected", corrected.getAsInt()));
+    }
+
+    @GetMapping("/trending")
+    @Operation(summary = "Get the posts with the most recent engagement, served from memory")
+    public ResponseEntity<ApiResponse<List<TrendingPostDto>>> getTrendingPosts(
+            @Parameter(description = "Number of posts (max blog.trending.top-size)") @RequestParam(defaultValue = "10") int limit) {
 
-        return ResponseEntity.ok(ApiResponse.success("Retrieved posts", postDtos));
+        List<TrendingPostDto> posts = trendingService.getTrending(limit);
+        return ResponseEntity.ok(ApiResponse.success("Retrieved " + posts.size() + " trending posts", posts));
     }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get post by ID")
-    public ResponseEntity<ApiResponse<PostDto>> getPostById(@PathVariable Long id) {
-        Post post = postService.getPostById(id); // no Optional here
-        return ResponseEntity.ok(ApiResponse.success("Post retrieved successfully", convertToDto(post)));
+    public ResponseEntity<ApiResponse<PostDetail>> getPostById(@PathVariable Long id) {
+        PostDetail post = postService.getPostById(id); // no Optional here
+        return ResponseEntity.ok(ApiResponse.success("Post retrieved successfully", post));
     }
 
 
     @PostMapping
     @Operation(summary = "Create a new post")
-    public ResponseEntity<ApiResponse<PostDto>> createPost(@Valid @RequestBody PostDto postDto) {
+    public ResponseEntity<ApiResponse<PostDetail>> createPost(@Valid @RequestBody PostDto postDto) {
         Post post = convertToEntity(postDto);
 
         // JPA expects entity references instead of raw IDs
@@ -57,18 +128,18 @@ public class PostController {
         user.setId(postDto.getUserId());
         post.setUser(user);
 
-        Post createdPost = postService.savePost(post);
+        PostDetail createdPost = postService.savePost(post);
         return new ResponseEntity<>(
-                ApiResponse.success("Post created successfully", convertToDto(createdPost)),
+                ApiResponse.success("Post created successfully", createdPost),
                 HttpStatus.CREATED
         );
     }
 
     @PutMapping("/{id}")
     @Operation(summary = "Update a post")
-    public ResponseEntity<ApiResponse<PostDto>> updatePost(@PathVariable Long id,
-                                                           @Valid @RequestBody PostDto postDto,
-                                                           @RequestParam Long userId) {
+    public ResponseEntity<ApiResponse<PostDetail>> updatePost(@PathVariable Long id,
+                                                              @Valid @RequestBody PostDto postDto,
+                                                              @RequestParam Long userId) {
         Post post = convertToEntity(postDto);
         post.setId(id);
 
@@ -76,8 +147,8 @@ public class PostController {
         user.setId(userId);
         post.setUser(user);
 
-        Post updatedPost = postService.updatePost(id, post);
-        return ResponseEntity.ok(ApiResponse.success("Post updated successfully", convertToDto(updatedPost)));
+        PostDetail updatedPost = postService.updatePost(id, post);
+        return ResponseEntity.ok(ApiResponse.success("Post updated successfully", updatedPost));
     }
 
     @DeleteMapping("/{id}")
@@ -89,29 +160,34 @@ public class PostController {
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search posts by title keyword")
-    public ResponseEntity<ApiResponse<Page<PostDto>>> searchPosts(@RequestParam String query,
-                                                                  @RequestParam(defaultValue = "0") int page,
-                                                                  @RequestParam(defaultValue = "10") int size) {
+    @Operation(summary = "Full-text search over post title, content and tags, most relevant first")
+    public ResponseEntity<ApiResponse<Page<PostSummary>>> searchPosts(@RequestParam String query,
+                                                                      @RequestParam(defaultValue = "0") int page,
+                                                                      @RequestParam(defaultValue = "10") int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<PostDto> postDtos = postService.searchPostsByTitle(query, pageable)
-                .map(this::convertToDto);
+        Page<PostSummary> posts = postService.searchPostsByTitle(query, pageable);
+        return ResponseEntity.ok(ApiResponse.success("Found " + posts.getTotalElements() + " posts", posts));
+    }
 
-        return ResponseEntity.ok(ApiResponse.success("Found " + postDtos.getTotalElements() + " posts", postDtos));
+    @GetMapping("/search/hits")
+    @Operation(summary = "Full-text search returning ranked hits with highlighted content fragments")
+    public ResponseEntity<ApiResponse<Page<PostSearchHit>>> searchPostHits(@RequestParam String query,
+                                                                          @RequestParam(defaultValue = "0") int page,
+                                                                          @RequestParam(defaultValue = "10") int size) {
+        Page<PostSearchHit> hits = postService.searchPostHits(query, page, size);
+        return ResponseEntity.ok(ApiResponse.success("Found " + hits.getTotalElements() + " posts", hits));
     }
 
-    // Helper methods
-    private PostDto convertToDto(Post post) {
-        return new PostDto(
-                post.getId(),
-                post.getUser().getId(),
-                post.getTitle(),
-                post.getContent(),
-                post.getCreatedAt(),
-                post.getUpdatedAt()
-        );
+    @GetMapping("/search/scroll")
+    @Operation(summary = "Full-text search newest first using cursor (keyset) pagination")
+    public ResponseEntity<ApiResponse<CursorPageDto<PostDetail>>> scrollSearchPosts(@RequestParam String query,
+                                                                                    @RequestParam(required = false) String cursor,
+                                                                                    @RequestParam(defaultValue = "10") int size) {
+        CursorPageDto<PostDetail> posts = postService.searchPostsAfter(query, cursor, size);
+        return ResponseEntity.ok(ApiResponse.success("Found " + posts.getItems().size() + " posts", posts));
     }
 
+    // Helper methods
     private Post convertToEntity(PostDto postDto) {
         Post post = new Post();
         post.setTitle(postDto.getTitle());
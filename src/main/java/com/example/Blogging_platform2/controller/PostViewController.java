@@ -1,7 +1,9 @@
 package com.example.Blogging_platform2.controller;
 
 import com.example.Blogging_platform2.dto.ApiResponse;
+import com.example.Blogging_platform2.dto.DailyViewCountDto;
 import com.example.Blogging_platform2.dto.PostViewDto;
+import com.example.Blogging_platform2.dto.ViewCountDto;
 import com.example.Blogging_platform2.exception.PostViewNotFoundException;
 import com.example.Blogging_platform2.model.Post;
 import com.example.Blogging_platform2.model.PostView;
@@ -11,10 +13,12 @@ import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -29,6 +33,14 @@ public class PostViewController {
     @PostMapping
     @Operation(summary = "Log a new post view")
     public ResponseEntity<ApiResponse<PostViewDto>> createView(@Valid @RequestBody PostViewDto dto) {
+        if (service.isAsyncIngestionEnabled()) {
+            service.enqueueView(dto.getPostId(), dto.getUserId(), dto.getViewedAt());
+            return new ResponseEntity<>(
+                    ApiResponse.success("View accepted for processing", dto),
+                    HttpStatus.ACCEPTED
+            );
+        }
+
         PostView view = new PostView();
 
         Post post = new Post();
@@ -60,6 +72,26 @@ public class PostViewController {
         return ResponseEntity.ok(ApiResponse.success("Retrieved " + views.size() + " views", views));
     }
 
+    @GetMapping("/post/{postId}/count")
+    @Operation(summary = "Get the total view count for a post")
+    public ResponseEntity<ApiResponse<ViewCountDto>> getViewCount(@PathVariable Long postId) {
+        ViewCountDto count = new ViewCountDto(postId, service.getViewCount(postId));
+        return ResponseEntity.ok(ApiResponse.success("View count retrieved successfully", count));
+    }
+
+    @GetMapping("/post/{postId}/timeseries")
+    @Operation(summary = "Get daily view counts for a post (defaults to the last 30 days)")
+    public ResponseEntity<ApiResponse<List<DailyViewCountDto>>> getViewTimeseries(
+            @PathVariable Long postId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate end = to != null ? to : LocalDate.now();
+        LocalDate start = from != null ? from : end.minusDays(29);
+
+        List<DailyViewCountDto> series = service.getDailyViewCounts(postId, start, end);
+        return ResponseEntity.ok(ApiResponse.success("Retrieved " + series.size() + " days", series));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get a view by ID")
     public ResponseEntity<ApiResponse<PostViewDto>> getView(@PathVariable Long id) {
@@ -1,7 +1,9 @@
 package com.example.Blogging_platform2.controller;
 
 import com.example.Blogging_platform2.dto.ApiResponse;
+import com.example.Blogging_platform2.dto.RatingSummaryDto;
 import com.example.Blogging_platform2.dto.ReviewDto;
+import com.example.Blogging_platform2.dto.TopRatedPost;
 import com.example.Blogging_platform2.exception.ReviewNotFoundException;
 import com.example.Blogging_platform2.model.Post;
 import com.example.Blogging_platform2.model.Review;
@@ -62,6 +64,20 @@ public class ReviewController {
         );
     }
 
+    @GetMapping("/posts/{postId}/summary")
+    @Operation(summary = "Get a post's rating count, average and 1-5 star histogram without loading its reviews")
+    public ResponseEntity<ApiResponse<RatingSummaryDto>> getRatingSummary(@PathVariable Long postId) {
+        return ResponseEntity.ok(ApiResponse.success("Rating summary retrieved", reviewService.getRatingSummary(postId)));
+    }
+
+    @GetMapping("/top-rated")
+    @Operation(summary = "Top-rated posts by damped average rating (max 100)")
+    public ResponseEntity<ApiResponse<List<TopRatedPost>>> getTopRatedPosts(
+            @RequestParam(defaultValue = "10") int limit,
+            @RequestParam(defaultValue = "1") int minReviews) {
+        List<TopRatedPost> posts = reviewService.getTopRatedPosts(limit, minReviews);
+        return ResponseEntity.ok(ApiResponse.success("Retrieved " + posts.size() + " top-rated posts", posts));
+    }
 
     @GetMapping("/{id}")
     @Operation(summary = "Get review by ID")
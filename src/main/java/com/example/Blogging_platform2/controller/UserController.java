@@ -2,6 +2,7 @@ package com.example.Blogging_platform2.controller;
 
 import com.example.Blogging_platform2.dto.ApiResponse;
 import com.example.Blogging_platform2.dto.UserDto;
+import com.example.Blogging_platform2.dto.UserSummary;
 import com.example.Blogging_platform2.exception.UserNotFoundException;
 import com.example.Blogging_platform2.model.Role;
 import com.example.Blogging_platform2.model.User;
@@ -17,7 +18,6 @@ import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/users")
@@ -37,7 +37,7 @@ public class UserController {
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "400", description = "Validation error"),
             @io.swagger.v3.oas.annotations.responses.ApiResponse(responseCode = "409", description = "Username or email already exists")
     })
-    public ResponseEntity<ApiResponse<UserDto>> registerUser(@Valid @RequestBody UserDto userDto) {
+    public ResponseEntity<ApiResponse<UserSummary>> registerUser(@Valid @RequestBody UserDto userDto) {
         User user = new User();
         user.setUsername(userDto.getUsername());
         user.setEmail(userDto.getEmail());
@@ -48,59 +48,39 @@ public class UserController {
         defaultRole.setName(userDto.getRole() != null ? userDto.getRole() : "ROLE_USER");
         user.setRoles(Set.of(defaultRole));
 
-        User createdUser = userService.registerUser(user);
-        UserDto responseDto = convertToDto(createdUser);
-
-        return new ResponseEntity<>(ApiResponse.success("User registered successfully", responseDto), HttpStatus.CREATED);
+        UserSummary createdUser = userService.registerUser(user);
+        return new ResponseEntity<>(ApiResponse.success("User registered successfully", createdUser), HttpStatus.CREATED);
     }
 
     @GetMapping("/{username}")
     @Operation(summary = "Get user by username", description = "Retrieves a user's information by their username")
-    public ResponseEntity<ApiResponse<UserDto>> getUserByUsername(@PathVariable String username) {
-        User user = userService.findByUsername(username)
+    public ResponseEntity<ApiResponse<UserSummary>> getUserByUsername(@PathVariable String username) {
+        UserSummary user = userService.findByUsername(username)
                 .orElseThrow(() -> new UserNotFoundException("User with username '" + username + "' not found"));
-        return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", convertToDto(user)));
+        return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", user));
     }
 
     @GetMapping
     @Operation(summary = "Get all users", description = "Retrieves a list of all registered users")
-    public ResponseEntity<ApiResponse<List<UserDto>>> getAllUsers() {
-        List<UserDto> userDtos = userService.findAll().stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
-        return ResponseEntity.ok(ApiResponse.success("Retrieved " + userDtos.size() + " users", userDtos));
+    public ResponseEntity<ApiResponse<List<UserSummary>>> getAllUsers() {
+        List<UserSummary> users = userService.findAll();
+        return ResponseEntity.ok(ApiResponse.success("Retrieved " + users.size() + " users", users));
     }
 
     @GetMapping("/id/{id}")
     @Operation(summary = "Get user by ID", description = "Retrieves a user's information by their ID")
-    public ResponseEntity<ApiResponse<UserDto>> getUserById(@PathVariable Long id) {
-        User user = userService.findById(id)
+    public ResponseEntity<ApiResponse<UserSummary>> getUserById(@PathVariable Long id) {
+        UserSummary user = userService.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + id + " not found"));
-        return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", convertToDto(user)));
+        return ResponseEntity.ok(ApiResponse.success("User retrieved successfully", user));
     }
 
     @DeleteMapping("/{id}")
     @Operation(summary = "Delete user", description = "Deletes a user account by ID")
     public ResponseEntity<ApiResponse<Void>> deleteUser(@PathVariable Long id) {
-        User user = userService.findById(id)
+        userService.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + id + " not found"));
         userService.deleteUser(id);
         return ResponseEntity.ok(ApiResponse.success("User deleted successfully"));
     }
-
-    // Helper method for DTO conversion
-    private UserDto convertToDto(User user) {
-        UserDto dto = new UserDto();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setEmail(user.getEmail());
-
-        // Convert Set<Role> to single String for DTO
-        if (user.getRoles() != null && !user.getRoles().isEmpty()) {
-            dto.setRole(user.getRoles().iterator().next().getName());
-        }
-
-        dto.setPassword(null); // hide password in responses
-        return dto;
-    }
 }
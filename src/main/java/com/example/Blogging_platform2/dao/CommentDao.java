@@ -1,14 +1,29 @@
 package com.example.Blogging_platform2.dao;
 
+import com.example.Blogging_platform2.dto.CommentDetail;
 import com.example.Blogging_platform2.model.Comment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CommentDao extends JpaRepository<Comment, Long> {
-    List<Comment> findAllByPostId(Long postId);
+
+    String COMMENT_DETAIL = "SELECT new com.example.Blogging_platform2.dto.CommentDetail(" +
+            "c.id, c.post.id, c.user.id, c.content, c.createdAt) FROM Comment c ";
+
+    @Query(COMMENT_DETAIL + "WHERE c.id = :id")
+    Optional<CommentDetail> findDetailById(@Param("id") Long id);
+
+    @Query(COMMENT_DETAIL + "WHERE c.post.id = :postId ORDER BY c.createdAt, c.id")
+    List<CommentDetail> findDetailsByPostId(@Param("postId") Long postId);
+
+    @Query(COMMENT_DETAIL + "WHERE c.post.id IN :postIds ORDER BY c.createdAt, c.id")
+    List<CommentDetail> findDetailsByPostIdIn(@Param("postIds") Collection<Long> postIds);
 }
 
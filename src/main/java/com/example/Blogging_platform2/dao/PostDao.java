@@ -1,17 +1,165 @@
 package com.example.Blogging_platform2.dao;
 
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.PostSearchHit;
+import com.example.Blogging_platform2.dto.PostSummary;
 import com.example.Blogging_platform2.model.Post;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PostDao extends JpaRepository<Post, Long> {
 
-    Page<Post> findByUserId(Long userId, Pageable pageable);
+    // Weighted document for full-text search: title (A) > tag names (B) > content (C)
+    String SEARCH_VECTOR_SQL =
+            "setweight(to_tsvector('english', coalesce(p.title, '')), 'A') || " +
+            "setweight(to_tsvector('english', coalesce((SELECT string_agg(t.name, ' ') FROM post_tags pt " +
+            "JOIN tags t ON t.id = pt.tag_id WHERE pt.post_id = p.id), '')), 'B') || " +
+            "setweight(to_tsvector('english', coalesce(p.content, '')), 'C')";
 
-    Page<Post> findByTitleContainingIgnoreCase(String keyword, Pageable pageable);
+    // Read paths select straight into records, so nothing cached is a managed entity. The
+    // post_stats row is joined in, so a page of posts with their counters is a single query
+    String POST_STATS = "s.commentCount, s.viewCount, s.ratingCount, s.ratingSum) " +
+            "FROM Post p LEFT JOIN PostStats s ON s.postId = p.id ";
+
+    String POST_DETAIL = "SELECT new com.example.Blogging_platform2.dto.PostDetail(" +
+            "p.id, p.user.id, p.title, p.content, p.createdAt, p.updatedAt, " + POST_STATS;
+
+    String POST_SUMMARY = "SELECT new com.example.Blogging_platform2.dto.PostSummary(" +
+            "p.id, p.user.id, p.title, SUBSTRING(p.content, 1, " + PostSummary.EXCERPT_LENGTH + "), " +
+            "p.createdAt, p.updatedAt, " + POST_STATS;
+
+    @Query(POST_DETAIL + "WHERE p.id = :id")
+    Optional<PostDetail> findDetailById(@Param("id") Long id);
+
+    @Query(POST_DETAIL + "WHERE p.id IN :ids")
+    List<PostDetail> findDetailsByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query(POST_DETAIL + "WHERE p.user.id IN :userIds ORDER BY p.createdAt DESC, p.id DESC")
+    List<PostDetail> findDetailsByUserIdIn(@Param("userIds") Collection<Long> userIds);
+
+    @Query(value = POST_SUMMARY, countQuery = "SELECT count(p) FROM Post p")
+    Page<PostSummary> findSummaries(Pageable pageable);
+
+    @Query(value = POST_SUMMARY + "WHERE p.user.id = :userId",
+           countQuery = "SELECT count(p) FROM Post p WHERE p.user.id = :userId")
+    Page<PostSummary> findSummariesByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(POST_SUMMARY + "WHERE p.id IN :ids")
+    List<PostSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "UPDATE posts p SET search_vector = " + SEARCH_VECTOR_SQL + " WHERE p.id = :id", nativeQuery = true)
+    void refreshSearchVector(@Param("id") Long id);
+
+    @Modifying
+    @Query(value = "UPDATE posts p SET search_vector = " + SEARCH_VECTOR_SQL + " WHERE p.id IN (:ids)", nativeQuery = true)
+    void refreshSearchVectors(@Param("ids") Collection<Long> ids);
+
+    // Export cursor: PostgreSQL only streams with a fetch size inside a transaction, and records
+    // never enter the persistence context, so memory stays flat however many rows are read
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query(POST_DETAIL + "ORDER BY p.id")
+    Stream<PostDetail> streamAllDetails();
+
+    // Ranked full-text search backed by the GIN index on posts.search_vector; ids only, the
+    // rows are then read as summaries
+    @Query(value = "SELECT p.id FROM posts p, websearch_to_tsquery('english', :query) q " +
+                   "WHERE p.search_vector @@ q ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id DESC " +
+                   "LIMIT :limit OFFSET :offset",
+           nativeQuery = true)
+    List<Long> searchFullTextIds(@Param("query") String query,
+                                 @Param("limit") int limit,
+                                 @Param("offset") long offset);
+
+    // Headlines are only computed for the rows of the requested page, not for every match. The
+    // content is HTML-escaped first, so the <mark> tags are the only markup a headline can carry
+    @Query(value = "SELECT r.id AS id, r.title AS title, r.rank AS rank, " +
+                   "ts_headline('english', " +
+                   "replace(replace(replace(r.content, '&', '&amp;'), '<', '&lt;'), '>', '&gt;'), r.q, " +
+                   "'StartSel=<mark>, StopSel=</mark>, MaxFragments=2, MaxWords=30, MinWords=10') AS headline " +
+                   "FROM (SELECT p.id, p.title, p.content, q, ts_rank_cd(p.search_vector, q) AS rank " +
+                   "      FROM posts p, websearch_to_tsquery('english', :query) q " +
+                   "      WHERE p.search_vector @@ q " +
+                   "      ORDER BY rank DESC, p.id DESC LIMIT :limit OFFSET :offset) r " +
+                   "ORDER BY r.rank DESC, r.id DESC",
+           nativeQuery = true)
+    List<PostSearchHit> searchFullTextHits(@Param("query") String query,
+                                           @Param("limit") int limit,
+                                           @Param("offset") long offset);
+
+    @Query(value = "SELECT count(*) FROM posts p WHERE p.search_vector @@ websearch_to_tsquery('english', :query)",
+           nativeQuery = true)
+    long countFullTextMatches(@Param("query") String query);
+
+    // Keyset (seek) pagination, newest first. Slice return types skip the count query, and the
+    // leading "createdAt <= :createdAt" keeps the seek a range scan on idx_posts_created_at_id.
+    @Query(POST_DETAIL + "ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostDetail> findLatest(Pageable pageable);
+
+    @Query(POST_DETAIL + "WHERE p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostDetail> findLatestBefore(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Pageable pageable);
+
+    // Full-text matches in keyset order; native so the seek can use a row-value comparison.
+    // Ids only, the rows are then read as details with findDetailsByIdIn
+    @Query(value = "SELECT p.id FROM posts p WHERE p.search_vector @@ websearch_to_tsquery('english', :query) " +
+                   "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> searchLatest(@Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = "SELECT p.id FROM posts p WHERE p.search_vector @@ websearch_to_tsquery('english', :query) " +
+                   "AND (p.created_at, p.id) < (:createdAt, :id) " +
+                   "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> searchLatestBefore(@Param("query") String query,
+                                  @Param("createdAt") LocalDateTime createdAt,
+                                  @Param("id") Long id,
+                                  @Param("limit") int limit);
+
+    // Same seeks restricted to one author, served by idx_posts_user_created_at_id
+    @Query(POST_DETAIL + "WHERE p.user.id = :userId ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostDetail> findLatestByUser(@Param("userId") Long userId, Pageable pageable);
+
+    @Query(POST_DETAIL + "WHERE p.user.id = :userId AND p.createdAt <= :createdAt " +
+           "AND (p.createdAt < :createdAt OR p.id < :id) ORDER BY p.createdAt DESC, p.id DESC")
+    Slice<PostDetail> findLatestByUserBefore(@Param("userId") Long userId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable pageable);
+
+    @Query(value = "SELECT p.id FROM posts p WHERE p.user_id = :userId " +
+                   "AND p.search_vector @@ websearch_to_tsquery('english', :query) " +
+                   "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> searchLatestByUser(@Param("userId") Long userId, @Param("query") String query, @Param("limit") int limit);
+
+    @Query(value = "SELECT p.id FROM posts p WHERE p.user_id = :userId " +
+                   "AND p.search_vector @@ websearch_to_tsquery('english', :query) " +
+                   "AND (p.created_at, p.id) < (:createdAt, :id) " +
+                   "ORDER BY p.created_at DESC, p.id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<Long> searchLatestByUserBefore(@Param("userId") Long userId,
+                                        @Param("query") String query,
+                                        @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") Long id,
+                                        @Param("limit") int limit);
 }
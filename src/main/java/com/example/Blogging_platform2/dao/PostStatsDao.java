@@ -0,0 +1,23 @@
+package com.example.Blogging_platform2.dao;
+
+import com.example.Blogging_platform2.dto.TopRatedPost;
+import com.example.Blogging_platform2.model.PostStats;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PostStatsDao extends JpaRepository<PostStats, Long> {
+
+    // Walks idx_post_stats_rating_score from the top and stops after :limit rows, never sorting reviews
+    @Query(value = "SELECT s.post_id AS postId, p.title AS title, s.rating_count AS ratingCount, " +
+                   "CAST(s.rating_sum AS float8) / s.rating_count AS averageRating, s.rating_score AS score " +
+                   "FROM post_stats s JOIN posts p ON p.id = s.post_id " +
+                   "WHERE s.rating_count >= :minReviews AND s.rating_count > 0 " +
+                   "ORDER BY s.rating_score DESC, s.post_id DESC LIMIT :limit",
+           nativeQuery = true)
+    List<TopRatedPost> findTopRated(@Param("minReviews") long minReviews, @Param("limit") int limit);
+}
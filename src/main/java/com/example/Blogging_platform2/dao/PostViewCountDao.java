@@ -0,0 +1,20 @@
+package com.example.Blogging_platform2.dao;
+
+import com.example.Blogging_platform2.model.PostViewCount;
+import com.example.Blogging_platform2.model.PostViewCountId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface PostViewCountDao extends JpaRepository<PostViewCount, PostViewCountId> {
+
+    @Query("SELECT COALESCE(SUM(c.viewCount), 0) FROM PostViewCount c WHERE c.id.postId = :postId")
+    long sumViewsByPostId(@Param("postId") Long postId);
+
+    List<PostViewCount> findByIdPostIdAndIdViewDateBetweenOrderByIdViewDateAsc(Long postId, LocalDate from, LocalDate to);
+}
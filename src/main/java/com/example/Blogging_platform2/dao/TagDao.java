@@ -2,12 +2,23 @@ package com.example.Blogging_platform2.dao;
 
 import com.example.Blogging_platform2.model.Tag;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface TagDao extends JpaRepository<Tag, Long> {
 
     Optional<Tag> findByName(String name);
+
+    // Rows of [postId, Tag] for all the given posts in one join over post_tags
+    @Query("SELECT p.id, t FROM Post p JOIN p.tags t WHERE p.id IN :postIds")
+    List<Object[]> findTagsByPostIds(@Param("postIds") Collection<Long> postIds);
+
+    @Query("SELECT p.id FROM Post p JOIN p.tags t WHERE t.id = :tagId")
+    List<Long> findPostIdsByTagId(@Param("tagId") Long tagId);
 }
@@ -1,13 +1,36 @@
 package com.example.Blogging_platform2.dao;
 
+import com.example.Blogging_platform2.dto.UserSummary;
 import com.example.Blogging_platform2.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface UserDao extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
     Optional<User> findByEmail(String email);
+
+    // First role by name, matching the single-role shape the API exposes
+    String USER_SUMMARY = "SELECT new com.example.Blogging_platform2.dto.UserSummary(" +
+            "u.id, u.username, u.email, MIN(r.name)) FROM User u LEFT JOIN u.roles r ";
+
+    String USER_SUMMARY_GROUP = " GROUP BY u.id, u.username, u.email";
+
+    @Query(USER_SUMMARY + "WHERE u.id = :id" + USER_SUMMARY_GROUP)
+    Optional<UserSummary> findSummaryById(@Param("id") Long id);
+
+    @Query(USER_SUMMARY + "WHERE u.username = :username" + USER_SUMMARY_GROUP)
+    Optional<UserSummary> findSummaryByUsername(@Param("username") String username);
+
+    @Query(USER_SUMMARY + USER_SUMMARY_GROUP + " ORDER BY u.id")
+    List<UserSummary> findAllSummaries();
+
+    @Query(USER_SUMMARY + "WHERE u.id IN :ids" + USER_SUMMARY_GROUP)
+    List<UserSummary> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
 }
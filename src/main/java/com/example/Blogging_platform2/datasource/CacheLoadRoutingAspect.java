@@ -0,0 +1,29 @@
+package com.example.Blogging_platform2.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+/**
+ * Sends the body of every {@code @Cacheable} method, i.e. each cache miss and refresh-ahead
+ * reload, to the primary (see {@link PrimaryReads}). Ordered after the caching interceptor
+ * ({@code @EnableCaching(order = LOWEST_PRECEDENCE - 1)}), so cache hits never get here and
+ * the background reloads of {@link com.example.Blogging_platform2.cache.RefreshAheadCache},
+ * which re-run the rest of the chain, do.
+ */
+@Aspect
+@Order(Ordered.LOWEST_PRECEDENCE)
+public class CacheLoadRoutingAspect {
+
+    @Around("@annotation(org.springframework.cache.annotation.Cacheable)")
+    public Object loadFromPrimary(ProceedingJoinPoint joinPoint) throws Throwable {
+        boolean wasRequired = PrimaryReads.require();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            PrimaryReads.release(wasRequired);
+        }
+    }
+}
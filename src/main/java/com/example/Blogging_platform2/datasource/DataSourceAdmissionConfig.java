@@ -0,0 +1,63 @@
+package com.example.Blogging_platform2.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Puts an {@link AdmissionControlledDataSource} in front of the application DataSource when
+ * {@code blog.db.admission.enabled=true}. Meant for virtual-thread mode, where request threads
+ * are no longer the limit and thousands of requests can reach the pool at once. The permits
+ * default to the Hikari pool size, so Hikari itself never has to queue anyone. With read replicas
+ * ({@link ReadReplicaConfig}) the wrapped bean is the routing proxy and a permit is held per
+ * transaction, whichever pool serves it; raise {@code blog.db.admission.max-concurrent} to the
+ * combined pool size there.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blog.db.admission", name = "enabled", havingValue = "true")
+public class DataSourceAdmissionConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(DataSourceAdmissionConfig.class);
+
+    @Bean
+    public static BeanPostProcessor dataSourceAdmissionPostProcessor(Environment environment) {
+        int poolSize = environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10);
+        int maxConcurrent = environment.getProperty("blog.db.admission.max-concurrent", Integer.class, poolSize);
+        int maxWaiting = environment.getProperty("blog.db.admission.max-waiting", Integer.class, 10000);
+        Duration timeout = environment.getProperty("blog.db.admission.timeout", Duration.class, Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof AdmissionControlledDataSource)) {
+                    logger.info("Database admission control on '{}': {} concurrent, {} waiting, {} timeout",
+                            beanName, maxConcurrent, maxWaiting, timeout);
+                    return new AdmissionControlledDataSource(dataSource, maxConcurrent, maxWaiting, timeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder dataSourceAdmissionMetrics(DataSource dataSource) throws SQLException {
+        AdmissionControlledDataSource admission = dataSource.unwrap(AdmissionControlledDataSource.class);
+        return registry -> {
+            Gauge.builder("blog.db.admission.in.use", admission, AdmissionControlledDataSource::getInUse)
+                    .description("Connections handed out through admission control")
+                    .register(registry);
+            Gauge.builder("blog.db.admission.waiting", admission, AdmissionControlledDataSource::getWaiting)
+                    .description("Callers queued for a database connection")
+                    .register(registry);
+        };
+    }
+}
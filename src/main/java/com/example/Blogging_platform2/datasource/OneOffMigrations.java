@@ -0,0 +1,75 @@
+package com.example.Blogging_platform2.datasource;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.jdbc.init.DataSourceScriptDatabaseInitializer;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Applies the scripts under {@code db/migrations/} once per database, unlike the
+ * {@code spring.sql.init} scripts that run on every startup: ALTERs that take an ACCESS EXCLUSIVE
+ * lock, full-table backfills. Each script runs in its own transaction and is recorded in
+ * {@code schema_migrations} ({@link com.example.Blogging_platform2.model.SchemaMigration}); nodes starting together serialize on an advisory lock and skip what
+ * another node has applied. Runs after Hibernate and the {@code spring.sql.init} scripts have
+ * created/updated the schema, before the application serves requests.
+ */
+@Component
+public class OneOffMigrations {
+
+    private static final Logger logger = LoggerFactory.getLogger(OneOffMigrations.class);
+
+    // Applied in this order; append only, never edit an applied script
+    static final List<String> MIGRATIONS = List.of(
+            "db/migrations/001-id-sequences.sql",
+            "db/migrations/002-post-search-backfill.sql");
+
+    // Arbitrary, shared by every node
+    private static final long LOCK_KEY = 7_300_419_001L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Both only injected to run after them: Hibernate's schema update and the spring.sql.init scripts
+    public OneOffMigrations(JdbcTemplate jdbcTemplate,
+                            PlatformTransactionManager transactionManager,
+                            EntityManagerFactory entityManagerFactory,
+                            ObjectProvider<DataSourceScriptDatabaseInitializer> sqlInitializer) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        sqlInitializer.ifAvailable(initializer -> { });
+    }
+
+    @PostConstruct
+    public void migrate() {
+        for (String migration : MIGRATIONS) {
+            transactionTemplate.executeWithoutResult(status -> apply(migration));
+        }
+    }
+
+    private void apply(String migration) {
+        jdbcTemplate.queryForObject("SELECT 1 FROM pg_advisory_xact_lock(?)", Integer.class, LOCK_KEY);
+        Integer applied = jdbcTemplate.queryForObject(
+                "SELECT count(*) FROM schema_migrations WHERE name = ?", Integer.class, migration);
+        if (applied != null && applied > 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            ScriptUtils.executeSqlScript(connection, new ClassPathResource(migration));
+            return null;
+        });
+        jdbcTemplate.update("INSERT INTO schema_migrations (name, applied_at) VALUES (?, now())", migration);
+        logger.info("Applied migration {} in {} ms", migration, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.Blogging_platform2.datasource;
+
+/**
+ * Marks the current thread's reads as needing the primary even inside a read-only transaction.
+ * Used while a cache miss is loaded: the loaded value is shared by every reader for the region's
+ * TTL, so it must not come from a replica that has not yet replayed the write that caused the miss.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Boolean> REQUIRED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isRequired() {
+        return REQUIRED.get() != null;
+    }
+
+    // Returns whether it was already required, to pass back to release()
+    public static boolean require() {
+        boolean already = isRequired();
+        REQUIRED.set(Boolean.TRUE);
+        return already;
+    }
+
+    public static void release(boolean wasRequired) {
+        if (!wasRequired) {
+            REQUIRED.remove();
+        }
+    }
+}
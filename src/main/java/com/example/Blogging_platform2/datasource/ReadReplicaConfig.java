@@ -0,0 +1,89 @@
+package com.example.Blogging_platform2.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replaces Boot's single DataSource with primary + read replicas behind a
+ * {@link ReadWriteRoutingDataSource} when {@code blog.datasource.routing.enabled=true}. The
+ * primary pool is built from {@code spring.datasource.*} and {@code spring.datasource.hikari.*}
+ * as before; replica pools are read-only. Cache loads are kept on the primary by
+ * {@link CacheLoadRoutingAspect}. All pools are closed with the context.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "blog.datasource.routing", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties primaryProperties,
+                                 RoutingProperties routing,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        HikariDataSource primary = primaryProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        primary.setPoolName(ReadWriteRoutingDataSource.PRIMARY);
+        primary.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        List<RoutingProperties.Replica> configured = routing.getReplicas();
+        for (int i = 0; i < configured.size(); i++) {
+            replicas.put("replica-" + i, replica("replica-" + i, configured.get(i), primaryProperties, meterRegistry));
+        }
+
+        ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(primary, replicas,
+                routing.getMaxLag(), new ReadYourWritesTracker(routing.getReadYourWritesWindow()), meterRegistry);
+        return new ClosingDataSourceProxy(routingDataSource);
+    }
+
+    @Bean
+    public CacheLoadRoutingAspect cacheLoadRoutingAspect() {
+        return new CacheLoadRoutingAspect();
+    }
+
+    private HikariDataSource replica(String name, RoutingProperties.Replica replica,
+                                     DataSourceProperties primaryProperties, MeterRegistry meterRegistry) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(replica.getUrl());
+        dataSource.setUsername(replica.getUsername() != null ? replica.getUsername() : primaryProperties.determineUsername());
+        dataSource.setPassword(replica.getPassword() != null ? replica.getPassword() : primaryProperties.determinePassword());
+        dataSource.setMaximumPoolSize(replica.getMaximumPoolSize());
+        dataSource.setReadOnly(true);
+        // Only fail when used, so a replica that is down at startup does not stop the application
+        dataSource.setInitializationFailTimeout(-1);
+        dataSource.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+        return dataSource;
+    }
+
+    // LazyConnectionDataSourceProxy has no close(), so destroy-method inference alone would leave
+    // every pool open (connections and housekeeping threads) after the context shuts down
+    static final class ClosingDataSourceProxy extends LazyConnectionDataSourceProxy implements DisposableBean {
+
+        private final ReadWriteRoutingDataSource routingDataSource;
+
+        ClosingDataSourceProxy(ReadWriteRoutingDataSource routingDataSource) {
+            super(routingDataSource);
+            this.routingDataSource = routingDataSource;
+        }
+
+        @Override
+        public void destroy() {
+            routingDataSource.close();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.example.Blogging_platform2.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a read replica and everything else to the primary. A replica
+ * is only chosen while it is reachable and its replay lag (checked by {@link ReplicaLagMonitor})
+ * is under the limit; otherwise, and for users who just wrote (see {@link ReadYourWritesTracker}),
+ * reads stay on the primary. Cache loads ({@link PrimaryReads}) always use the primary. Must sit behind a {@code LazyConnectionDataSourceProxy}: the
+ * transaction's read-only flag is only set after the transaction manager asked for a connection.
+ * Owns the primary and replica pools: {@link #close()} closes them.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadWriteRoutingDataSource.class);
+
+    static final String PRIMARY = "primary";
+
+    // 0 when the replica has replayed everything it received; replay timestamps stand still
+    // while the primary is idle, so they alone would report an ever-growing lag
+    private static final String LAG_SQL =
+            "SELECT CASE WHEN NOT pg_is_in_recovery() OR pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 " +
+            "ELSE EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long maxLagMs;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final MeterRegistry meterRegistry;
+
+    public ReadWriteRoutingDataSource(DataSource primary, Map<String, DataSource> replicas, Duration maxLag,
+                                      ReadYourWritesTracker readYourWrites, MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replicas = replicas.entrySet().stream().map(e -> new Replica(e.getKey(), e.getValue())).toList();
+        this.maxLagMs = maxLag.toMillis();
+        this.readYourWrites = readYourWrites;
+        this.meterRegistry = meterRegistry;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+        afterPropertiesSet();
+
+        for (Replica replica : this.replicas) {
+            Gauge.builder("blog.datasource.replica.lag", replica, r -> r.lagMs)
+                    .description("Replay lag of a read replica, -1 while unreachable")
+                    .tag("replica", replica.name)
+                    .baseUnit("milliseconds")
+                    .register(meterRegistry);
+        }
+    }
+
+    // Used by unwrap and getConnection(username, password); getConnection() routes with metrics and fallback
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly() || PrimaryReads.isRequired()
+                || readYourWrites.wroteRecently()) {
+            return PRIMARY;
+        }
+        Replica replica = pickReplica();
+        return replica != null ? replica.name : PRIMARY;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            readYourWrites.writeStarted();
+            return fromPrimary("write");
+        }
+        if (PrimaryReads.isRequired()) {
+            return fromPrimary("cache_load");
+        }
+        if (readYourWrites.wroteRecently()) {
+            return fromPrimary("read_your_writes");
+        }
+        Replica replica = pickReplica();
+        if (replica == null) {
+            return fromPrimary("no_replica");
+        }
+        try {
+            Connection connection = replica.dataSource.getConnection();
+            count("replica", "read");
+            return connection;
+        } catch (SQLException e) {
+            // Out of rotation until the next lag check reaches it again
+            replica.lagMs = -1;
+            logger.warn("Read replica {} unavailable, reading from the primary: {}", replica.name, e.getMessage());
+            return fromPrimary("replica_down");
+        }
+    }
+
+    public void checkReplicaLag() {
+        for (Replica replica : replicas) {
+            long lag;
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet rs = statement.executeQuery(LAG_SQL)) {
+                rs.next();
+                lag = Math.round(rs.getDouble(1));
+            } catch (SQLException e) {
+                lag = -1;
+            }
+            if ((lag < 0 || lag > maxLagMs) != (replica.lagMs < 0 || replica.lagMs > maxLagMs)) {
+                logger.info("Read replica {} is {} (lag {} ms)", replica.name,
+                        lag >= 0 && lag <= maxLagMs ? "back in rotation" : "out of rotation", lag);
+            }
+            replica.lagMs = lag;
+        }
+    }
+
+    // Replicas first, so nothing is routed to a closed replica while the primary is still open
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            close(replica.name, replica.dataSource);
+        }
+        close(PRIMARY, primary);
+    }
+
+    private static void close(String name, DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                logger.warn("Closing data source {} failed: {}", name, e.getMessage());
+            }
+        }
+    }
+
+        private Replica pickReplica() {
+        int size = replicas.size();
+        int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (replica.lagMs >= 0 && replica.lagMs <= maxLagMs) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    private Connection fromPrimary(String reason) throws SQLException {
+        Connection connection = primary.getConnection();
+        count(PRIMARY, reason);
+        return connection;
+    }
+
+    private void count(String target, String reason) {
+        Counter.builder("blog.datasource.routes")
+                .description("Connections handed out, by target and routing reason")
+                .tag("target", target)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+    }
+
+    private static final class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        // Written by the lag check, read on every routing decision
+        private volatile long lagMs;
+
+        private Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.Blogging_platform2.datasource;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+// Refreshes replica lag and reachability for the routing data source
+@Component
+@ConditionalOnProperty(prefix = "blog.datasource.routing", name = "enabled", havingValue = "true")
+public class ReplicaLagMonitor {
+
+    private final ReadWriteRoutingDataSource routingDataSource;
+
+    public ReplicaLagMonitor(DataSource dataSource) throws SQLException {
+        this.routingDataSource = dataSource.unwrap(ReadWriteRoutingDataSource.class);
+        routingDataSource.checkReplicaLag();
+    }
+
+    @Scheduled(fixedDelayString = "${blog.datasource.routing.lag-check-interval-ms:1000}")
+    public void checkReplicaLag() {
+        routingDataSource.checkReplicaLag();
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.Blogging_platform2.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read replica routing, bound from {@code blog.datasource.routing.*}. The primary keeps using
+ * {@code spring.datasource.*}; replicas are listed here, e.g.
+ * {@code blog.datasource.routing.replicas[0].url=jdbc:postgresql://replica-1:5432/blog}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.datasource.routing")
+public class RoutingProperties {
+
+    private boolean enabled = false;
+
+    private List<Replica> replicas = new ArrayList<>();
+
+    // Replicas further behind than this are skipped until they catch up
+    private Duration maxLag = Duration.ofSeconds(2);
+
+    // After a user's own write, their reads stay on the primary this long
+    private Duration readYourWritesWindow = Duration.ofSeconds(5);
+
+    @Data
+    public static class Replica {
+
+        private String url;
+
+        // Default to the primary's credentials
+        private String username;
+
+        private String password;
+
+        private int maximumPoolSize = 10;
+    }
+}
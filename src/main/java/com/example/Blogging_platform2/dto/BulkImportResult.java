@@ -0,0 +1,11 @@
+package com.example.Blogging_platform2.dto;
+
+import java.util.List;
+
+// Outcome of an NDJSON import; only the first errors are listed, failed counts all of them
+public record BulkImportResult(long imported, long failed, List<RowError> errors) {
+
+    // line is 1-based, as in the uploaded file
+    public record RowError(long line, String message) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.Blogging_platform2.dto;
+
+import java.util.List;
+import java.util.Map;
+
+// Point-in-time view of one cache; weights are approximate bytes, load times in milliseconds
+public record CacheStatsDto(String name,
+                            long hitCount,
+                            long missCount,
+                            double hitRatio,
+                            long loadSuccessCount,
+                            long loadFailureCount,
+                            double averageLoadMillis,
+                            Map<String, Double> loadMillisPercentiles,
+                            Map<String, Long> evictionsByCause,
+                            long estimatedSize,
+                            Long weightedSize,
+                            Long maximumWeight,
+                            List<String> hottestKeys) {
+}
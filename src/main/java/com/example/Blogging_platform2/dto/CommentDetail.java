@@ -0,0 +1,13 @@
+package com.example.Blogging_platform2.dto;
+
+import com.example.Blogging_platform2.model.Comment;
+
+import java.time.LocalDateTime;
+
+public record CommentDetail(Long id, Long postId, Long userId, String content, LocalDateTime createdAt) {
+
+    public static CommentDetail from(Comment comment) {
+        return new CommentDetail(comment.getId(), comment.getPost().getId(), comment.getUser().getId(),
+                comment.getContent(), comment.getCreatedAt());
+    }
+}
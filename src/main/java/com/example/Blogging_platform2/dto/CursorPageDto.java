@@ -0,0 +1,19 @@
+package com.example.Blogging_platform2.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPageDto<T> {
+
+    private List<T> items;
+
+    // Pass back as 'cursor' to get the next page; null on the last page
+    private String nextCursor;
+
+    private boolean hasNext;
+}
@@ -0,0 +1,16 @@
+package com.example.Blogging_platform2.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DailyViewCountDto {
+
+    private LocalDate date;
+
+    private Long views;
+}
@@ -0,0 +1,15 @@
+package com.example.Blogging_platform2.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PageInfo {
+
+    private boolean hasNextPage;
+
+    // Cursor of the last edge; pass it as 'after' to continue
+    private String endCursor;
+}
@@ -0,0 +1,17 @@
+package com.example.Blogging_platform2.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Relay-style connection over posts, newest first
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostConnection {
+
+    private List<PostEdge> edges;
+
+    private PageInfo pageInfo;
+}
@@ -0,0 +1,29 @@
+package com.example.Blogging_platform2.dto;
+
+import com.example.Blogging_platform2.model.Post;
+
+import java.time.LocalDateTime;
+
+// Detached, immutable view of one post; what the service layer returns and caches instead of the entity
+public record PostDetail(Long id, Long userId, String title, String content,
+                         LocalDateTime createdAt, LocalDateTime updatedAt, PostStatsDto stats) {
+
+    public PostDetail(Long id, Long userId, String title, String content,
+                      LocalDateTime createdAt, LocalDateTime updatedAt) {
+        this(id, userId, title, content, createdAt, updatedAt, PostStatsDto.EMPTY);
+    }
+
+    // Projection with the post's post_stats row joined in (see PostDao.POST_DETAIL)
+    public PostDetail(Long id, Long userId, String title, String content,
+                      LocalDateTime createdAt, LocalDateTime updatedAt,
+                      Long commentCount, Long viewCount, Long ratingCount, Long ratingSum) {
+        this(id, userId, title, content, createdAt, updatedAt,
+                PostStatsDto.of(commentCount, viewCount, ratingCount, ratingSum));
+    }
+
+    // Reads only columns and the user foreign key, so it never initializes a lazy association
+    public static PostDetail from(Post post) {
+        return new PostDetail(post.getId(), post.getUser() != null ? post.getUser().getId() : null,
+                post.getTitle(), post.getContent(), post.getCreatedAt(), post.getUpdatedAt());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.Blogging_platform2.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class PostFilter {
+
+    // Only posts by this author
+    private Long userId;
+
+    // Full-text query over title, tag names and content
+    private String search;
+}
@@ -0,0 +1,13 @@
+package com.example.Blogging_platform2.dto;
+
+// Projection for ranked full-text hits; headline is HTML: escaped content with matched terms in <mark> tags
+public interface PostSearchHit {
+
+    Long getId();
+
+    String getTitle();
+
+    String getHeadline();
+
+    Double getRank();
+}
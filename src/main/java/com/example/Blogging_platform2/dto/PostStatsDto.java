@@ -0,0 +1,14 @@
+package com.example.Blogging_platform2.dto;
+
+// Counters shown on a post card; averageRating is null until the post has a review
+public record PostStatsDto(long commentCount, long viewCount, long ratingCount, Double averageRating) {
+
+    public static final PostStatsDto EMPTY = new PostStatsDto(0, 0, 0, null);
+
+    // Columns of a LEFT JOINed post_stats row, all null when the post has none yet
+    public static PostStatsDto of(Long commentCount, Long viewCount, Long ratingCount, Long ratingSum) {
+        long ratings = ratingCount != null ? ratingCount : 0;
+        return new PostStatsDto(commentCount != null ? commentCount : 0, viewCount != null ? viewCount : 0,
+                ratings, ratings > 0 && ratingSum != null ? (double) ratingSum / ratings : null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.Blogging_platform2.dto;
+
+import java.time.LocalDateTime;
+
+// List/page entry for a post: the content is cut down to an excerpt to keep cached pages small
+public record PostSummary(Long id, Long userId, String title, String excerpt,
+                          LocalDateTime createdAt, LocalDateTime updatedAt, PostStatsDto stats) {
+
+    public static final int EXCERPT_LENGTH = 200;
+
+    // Projection with the post's post_stats row joined in (see PostDao.POST_SUMMARY)
+    public PostSummary(Long id, Long userId, String title, String excerpt,
+                       LocalDateTime createdAt, LocalDateTime updatedAt,
+                       Long commentCount, Long viewCount, Long ratingCount, Long ratingSum) {
+        this(id, userId, title, excerpt, createdAt, updatedAt,
+                PostStatsDto.of(commentCount, viewCount, ratingCount, ratingSum));
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.Blogging_platform2.dto;
+
+import com.example.Blogging_platform2.model.PostStats;
+
+import java.util.List;
+
+// Rating aggregate of one post; histogram.get(i) is the number of (i + 1)-star reviews
+public record RatingSummaryDto(Long postId, long count, Double average, List<Long> histogram) {
+
+    private static final List<Long> NO_RATINGS = List.of(0L, 0L, 0L, 0L, 0L);
+
+    public static RatingSummaryDto empty(Long postId) {
+        return new RatingSummaryDto(postId, 0, null, NO_RATINGS);
+    }
+
+    public static RatingSummaryDto from(PostStats stats) {
+        long count = stats.getRatingCount();
+        return new RatingSummaryDto(stats.getPostId(), count,
+                count > 0 ? (double) stats.getRatingSum() / count : null, stats.ratingHistogram());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.Blogging_platform2.dto;
+
+// Projection for the top-rated leaderboard; score is the damped average it is ordered by
+public interface TopRatedPost {
+
+    Long getPostId();
+
+    String getTitle();
+
+    Long getRatingCount();
+
+    Double getAverageRating();
+
+    Double getScore();
+}
@@ -0,0 +1,5 @@
+package com.example.Blogging_platform2.dto;
+
+// A post and its current time-decayed engagement score
+public record TrendingPostDto(Long postId, double score) {
+}
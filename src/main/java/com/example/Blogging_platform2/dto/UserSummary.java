@@ -0,0 +1,11 @@
+package com.example.Blogging_platform2.dto;
+
+import com.example.Blogging_platform2.model.User;
+
+// Public view of a user (no password, no collections)
+public record UserSummary(Long id, String username, String email, String role) {
+
+    public static UserSummary from(User user) {
+        return new UserSummary(user.getId(), user.getUsername(), user.getEmail(), user.getRole());
+    }
+}
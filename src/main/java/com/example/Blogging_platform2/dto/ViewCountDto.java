@@ -0,0 +1,14 @@
+package com.example.Blogging_platform2.dto;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class ViewCountDto {
+
+    private Long postId;
+
+    private Long totalViews;
+}
@@ -0,0 +1,7 @@
+package com.example.Blogging_platform2.event;
+
+/**
+ * A post was deleted; in-memory views of it (such as trending scores) should drop it.
+ */
+public record PostDeletedEvent(Long postId) {
+}
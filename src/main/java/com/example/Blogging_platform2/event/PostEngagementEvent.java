@@ -0,0 +1,12 @@
+package com.example.Blogging_platform2.event;
+
+/**
+ * A post received a view, comment or review. Published by the writing service, so listeners using
+ * {@code @TransactionalEventListener} only see engagement whose transaction committed.
+ */
+public record PostEngagementEvent(Long postId, Kind kind) {
+
+    public enum Kind {
+        VIEW, COMMENT, REVIEW
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.Blogging_platform2.event;
+
+/**
+ * Published when a user's roles change or the user is removed, so anything holding
+ * authentication state derived from earlier tokens can drop it.
+ */
+public record UserSecurityChangedEvent(String username) {
+}
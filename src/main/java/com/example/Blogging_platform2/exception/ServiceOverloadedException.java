@@ -0,0 +1,7 @@
+package com.example.Blogging_platform2.exception;
+public class ServiceOverloadedException extends RuntimeException {
+
+    public ServiceOverloadedException(String message) {
+        super(message);
+    }
+}
@@ -1,14 +1,19 @@
 package com.example.Blogging_platform2.graphqlcontroller;
 
+import com.example.Blogging_platform2.dto.CommentDetail;
 import com.example.Blogging_platform2.dto.CommentDto;
-import com.example.Blogging_platform2.model.Comment;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.UserSummary;
 import com.example.Blogging_platform2.service.CommentService;
+import graphql.schema.DataFetchingEnvironment;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -17,17 +22,27 @@ public class CommentGraphQLController {
     private final CommentService service;
 
     @QueryMapping
-    public List<Comment> getCommentsByPost(@Argument Long postId) {
+    public List<CommentDetail> getCommentsByPost(@Argument Long postId) {
         return service.getCommentsByPost(postId);
     }
 
     @QueryMapping
-    public Comment getComment(@Argument Long commentId) {
+    public CommentDetail getComment(@Argument Long commentId) {
         return service.getCommentById(commentId);
     }
 
+    @SchemaMapping(typeName = "Comment", field = "user")
+    public CompletableFuture<UserSummary> user(CommentDetail comment, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.USER_BY_ID, comment.userId());
+    }
+
+    @SchemaMapping(typeName = "Comment", field = "post")
+    public CompletableFuture<PostDetail> post(CommentDetail comment, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.POST_BY_ID, comment.postId());
+    }
+
     @MutationMapping
-    public Comment createComment(@Argument CommentDto dto) {
+    public CommentDetail createComment(@Argument CommentDto dto) {
         return service.saveComment(dto);
     }
 
@@ -0,0 +1,111 @@
+package com.example.Blogging_platform2.graphqlcontroller;
+
+import com.example.Blogging_platform2.dto.CommentDetail;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.RatingSummaryDto;
+import com.example.Blogging_platform2.dto.UserSummary;
+import com.example.Blogging_platform2.model.Post;
+import com.example.Blogging_platform2.model.Tag;
+import com.example.Blogging_platform2.model.User;
+import com.example.Blogging_platform2.service.CommentService;
+import com.example.Blogging_platform2.service.PostService;
+import com.example.Blogging_platform2.service.ReviewService;
+import com.example.Blogging_platform2.service.TagService;
+import com.example.Blogging_platform2.service.UserService;
+import graphql.schema.DataFetchingEnvironment;
+import org.dataloader.DataLoader;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.graphql.execution.BatchLoaderRegistry;
+import reactor.core.publisher.Mono;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Per-request DataLoaders for the associations exposed in the GraphQL schema. Resolvers queue ids
+ * instead of walking lazy JPA associations, and each loader fetches all queued ids with a single
+ * IN query. Loaders are keyed by id (never by entity, whose Lombok hashCode would touch lazy
+ * collections) and cache per request, so a user shared by many posts and comments loads once.
+ * Values are the detached records the services return, so resolvers only follow foreign key ids.
+ */
+@Configuration
+public class GraphQLDataLoaders {
+
+    public static final String USER_BY_ID = "userById";
+    public static final String POST_BY_ID = "postById";
+    public static final String COMMENTS_BY_POST = "commentsByPost";
+    public static final String TAGS_BY_POST = "tagsByPost";
+    public static final String POSTS_BY_USER = "postsByUser";
+    public static final String RATING_SUMMARY_BY_POST = "ratingSummaryByPost";
+
+    public GraphQLDataLoaders(BatchLoaderRegistry registry,
+                              UserService userService,
+                              PostService postService,
+                              CommentService commentService,
+                              TagService tagService,
+                              ReviewService reviewService) {
+
+        registry.<Long, UserSummary>forName(USER_BY_ID)
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() ->
+                        indexById(userService.findAllByIds(ids), UserSummary::id)));
+
+        registry.<Long, PostDetail>forName(POST_BY_ID)
+                .registerMappedBatchLoader((ids, env) -> Mono.fromCallable(() ->
+                        indexById(postService.getPostsByIds(ids), PostDetail::id)));
+
+        registry.<Long, List<CommentDetail>>forName(COMMENTS_BY_POST)
+                .registerMappedBatchLoader((postIds, env) -> Mono.fromCallable(() ->
+                        withEmptyLists(postIds, commentService.getCommentsByPostIds(postIds).stream()
+                                .collect(Collectors.groupingBy(CommentDetail::postId)))));
+
+        registry.<Long, List<PostDetail>>forName(POSTS_BY_USER)
+                .registerMappedBatchLoader((userIds, env) -> Mono.fromCallable(() ->
+                        withEmptyLists(userIds, postService.getPostsByUserIds(userIds).stream()
+                                .collect(Collectors.groupingBy(PostDetail::userId)))));
+
+        registry.<Long, List<Tag>>forName(TAGS_BY_POST)
+                .registerMappedBatchLoader((postIds, env) -> Mono.fromCallable(() ->
+                        withEmptyLists(postIds, tagService.getTagsByPostIds(postIds))));
+
+        // Posts without a post_stats row yet get an empty summary
+        registry.<Long, RatingSummaryDto>forName(RATING_SUMMARY_BY_POST)
+                .registerMappedBatchLoader((postIds, env) -> Mono.fromCallable(() -> {
+                    Map<Long, RatingSummaryDto> result = indexById(reviewService.getRatingSummaries(postIds), RatingSummaryDto::postId);
+                    postIds.forEach(id -> result.putIfAbsent(id, RatingSummaryDto.empty(id)));
+                    return result;
+                }));
+    }
+
+    // Queues the id on the named loader; a null id (optional association) resolves to null
+    static <V> CompletableFuture<V> load(DataFetchingEnvironment env, String loaderName, Long id) {
+        if (id == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        DataLoader<Long, V> loader = env.getDataLoader(loaderName);
+        return loader.load(id);
+    }
+
+    // Reading the id of a lazy proxy does not initialize it
+    static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
+    static Long idOf(Post post) {
+        return post != null ? post.getId() : null;
+    }
+
+    private static <V> Map<Long, V> indexById(List<V> values, Function<V, Long> idGetter) {
+        return values.stream().collect(Collectors.toMap(idGetter, Function.identity(), (a, b) -> a, HashMap::new));
+    }
+
+    private static <V> Map<Long, List<V>> withEmptyLists(Set<Long> keys, Map<Long, List<V>> found) {
+        Map<Long, List<V>> result = new HashMap<>(found);
+        keys.forEach(key -> result.putIfAbsent(key, List.of()));
+        return result;
+    }
+}
@@ -1,15 +1,29 @@
 package com.example.Blogging_platform2.graphqlcontroller;
 
+import com.example.Blogging_platform2.dto.CommentDetail;
 import com.example.Blogging_platform2.dto.CreatePostRequest;
+import com.example.Blogging_platform2.dto.CursorPageDto;
+import com.example.Blogging_platform2.dto.PageInfo;
+import com.example.Blogging_platform2.dto.PostConnection;
+import com.example.Blogging_platform2.dto.PostCursor;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.PostEdge;
+import com.example.Blogging_platform2.dto.PostFilter;
+import com.example.Blogging_platform2.dto.PostSearchHit;
+import com.example.Blogging_platform2.dto.UserSummary;
 import com.example.Blogging_platform2.model.Post;
+import com.example.Blogging_platform2.model.Tag;
 import com.example.Blogging_platform2.model.User;
 import com.example.Blogging_platform2.service.PostService;
+import graphql.schema.DataFetchingEnvironment;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 public class PostGraphQLController {
@@ -20,18 +34,56 @@ public class PostGraphQLController {
         this.postService = postService;
     }
 
+    public static final int DEFAULT_CONNECTION_PAGE_SIZE = 20;
+
+    // Bounded replacement for the old allPosts list; first is capped at PostService.MAX_CURSOR_PAGE_SIZE
+    @QueryMapping
+    public PostConnection postsConnection(@Argument Integer first, @Argument String after, @Argument PostFilter filter) {
+        int size = first != null ? first : DEFAULT_CONNECTION_PAGE_SIZE;
+        Long userId = filter != null ? filter.getUserId() : null;
+        String search = filter != null ? filter.getSearch() : null;
+        CursorPageDto<PostDetail> page = search != null && !search.isBlank()
+                ? postService.searchPostsAfter(userId, search, after, size)
+                : postService.getPostsAfter(userId, after, size);
+        return toConnection(page);
+    }
+
     @QueryMapping
-    public List<Post> allPosts() {
-        return postService.getAllPosts();
+    public CursorPageDto<PostDetail> postsAfter(@Argument String after, @Argument Integer first, @Argument String query) {
+        int size = first != null ? first : 10;
+        if (query != null && !query.isBlank()) {
+            return postService.searchPostsAfter(query, after, size);
+        }
+        return postService.getPostsAfter(after, size);
     }
 
     @QueryMapping
-    public Post postById(@Argument Long id) {
-        return postService.getPostById(id); // returns Post directly
+    public List<PostSearchHit> searchPosts(@Argument String query, @Argument Integer page, @Argument Integer size) {
+        return postService.searchPostHits(query, page != null ? page : 0, size != null ? size : 10).getContent();
+    }
+
+    @QueryMapping
+    public PostDetail postById(@Argument Long id) {
+        return postService.getPostById(id); // returns PostDetail directly
+    }
+
+    @SchemaMapping(typeName = "Post", field = "user")
+    public CompletableFuture<UserSummary> user(PostDetail post, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.USER_BY_ID, post.userId());
+    }
+
+    @SchemaMapping(typeName = "Post", field = "comments")
+    public CompletableFuture<List<CommentDetail>> comments(PostDetail post, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.COMMENTS_BY_POST, post.id());
+    }
+
+    @SchemaMapping(typeName = "Post", field = "tags")
+    public CompletableFuture<List<Tag>> tags(PostDetail post, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.TAGS_BY_POST, post.id());
     }
 
     @MutationMapping
-    public Post createPost(@Argument CreatePostRequest input) {
+    public PostDetail createPost(@Argument CreatePostRequest input) {
         Post post = new Post();
         post.setTitle(input.getTitle());
         post.setContent(input.getContent());
@@ -47,7 +99,7 @@ public class PostGraphQLController {
     }
 
     @MutationMapping
-    public Post updatePost(@Argument Long id, @Argument CreatePostRequest input) {
+    public PostDetail updatePost(@Argument Long id, @Argument CreatePostRequest input) {
         Post updatedPost = new Post();
         updatedPost.setTitle(input.getTitle());
         updatedPost.setContent(input.getContent());
@@ -59,4 +111,12 @@ public class PostGraphQLController {
         postService.deletePost(id);
         return true;
     }
+
+    private PostConnection toConnection(CursorPageDto<PostDetail> page) {
+        List<PostEdge> edges = page.getItems().stream()
+                .map(post -> new PostEdge(new PostCursor(post.createdAt(), post.id()).encode(), post))
+                .toList();
+        String endCursor = edges.isEmpty() ? null : edges.get(edges.size() - 1).getCursor();
+        return new PostConnection(edges, new PageInfo(page.isHasNext(), endCursor));
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.Blogging_platform2.graphqlcontroller;
 
+import com.example.Blogging_platform2.dto.DailyViewCountDto;
 import com.example.Blogging_platform2.model.Post;
 import com.example.Blogging_platform2.model.PostView;
 import com.example.Blogging_platform2.model.User;
@@ -9,6 +10,7 @@ import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
 import org.springframework.stereotype.Controller;
+import java.time.LocalDate;
 import java.util.List;
 
 @Controller
@@ -27,6 +29,20 @@ public class PostViewGraphQLController {
         return service.getView(id);
     }
 
+    @QueryMapping
+    public Long getViewCount(@Argument Long postId) {
+        return service.getViewCount(postId);
+    }
+
+    @QueryMapping
+    public List<DailyViewCountDto> getViewTimeseries(@Argument Long postId,
+                                                     @Argument String from,
+                                                     @Argument String to) {
+        LocalDate end = to != null ? LocalDate.parse(to) : LocalDate.now();
+        LocalDate start = from != null ? LocalDate.parse(from) : end.minusDays(29);
+        return service.getDailyViewCounts(postId, start, end);
+    }
+
     @MutationMapping
     public PostView createView(@Argument Long postId, @Argument Long userId) {
         PostView view = new PostView();
@@ -1,16 +1,23 @@
 package com.example.Blogging_platform2.graphqlcontroller;
 
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.RatingSummaryDto;
+import com.example.Blogging_platform2.dto.TopRatedPost;
+import com.example.Blogging_platform2.dto.UserSummary;
 import com.example.Blogging_platform2.model.Post;
 import com.example.Blogging_platform2.model.Review;
 import com.example.Blogging_platform2.model.User;
 import com.example.Blogging_platform2.service.ReviewService;
+import graphql.schema.DataFetchingEnvironment;
 import lombok.RequiredArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @RequiredArgsConstructor
@@ -29,6 +36,36 @@ public class ReviewGraphQLController {
                 .orElseThrow(() -> new RuntimeException("Review with ID " + reviewId + " not found"));
     }
 
+    @QueryMapping
+    public RatingSummaryDto ratingSummary(@Argument Long postId) {
+        return service.getRatingSummary(postId);
+    }
+
+    @QueryMapping
+    public List<TopRatedPost> topRatedPosts(@Argument Integer limit, @Argument Integer minReviews) {
+        return service.getTopRatedPosts(limit != null ? limit : 10, minReviews != null ? minReviews : 1);
+    }
+
+    @SchemaMapping(typeName = "Post", field = "ratingSummary")
+    public CompletableFuture<RatingSummaryDto> ratingSummary(PostDetail post, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.RATING_SUMMARY_BY_POST, post.id());
+    }
+
+    @SchemaMapping(typeName = "TopRatedPost", field = "post")
+    public CompletableFuture<PostDetail> post(TopRatedPost topRated, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.POST_BY_ID, topRated.getPostId());
+    }
+
+    @SchemaMapping(typeName = "Review", field = "user")
+    public CompletableFuture<UserSummary> user(Review review, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.USER_BY_ID, GraphQLDataLoaders.idOf(review.getUser()));
+    }
+
+    @SchemaMapping(typeName = "Review", field = "post")
+    public CompletableFuture<PostDetail> post(Review review, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.POST_BY_ID, GraphQLDataLoaders.idOf(review.getPost()));
+    }
+
     @MutationMapping
     public Review createReview(@Argument Long postId,
                                @Argument Long userId,
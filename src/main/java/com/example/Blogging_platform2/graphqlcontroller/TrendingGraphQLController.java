@@ -0,0 +1,32 @@
+package com.example.Blogging_platform2.graphqlcontroller;
+
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.TrendingPostDto;
+import com.example.Blogging_platform2.service.TrendingService;
+import graphql.schema.DataFetchingEnvironment;
+import lombok.RequiredArgsConstructor;
+import org.springframework.graphql.data.method.annotation.Argument;
+import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+@Controller
+@RequiredArgsConstructor
+public class TrendingGraphQLController {
+
+    private final TrendingService service;
+
+    @QueryMapping
+    public List<TrendingPostDto> trendingPosts(@Argument Integer limit) {
+        return service.getTrending(limit != null ? limit : 10);
+    }
+
+    // Only queries that select post go to the database, in one batch
+    @SchemaMapping(typeName = "TrendingPost", field = "post")
+    public CompletableFuture<PostDetail> post(TrendingPostDto trending, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.POST_BY_ID, trending.postId());
+    }
+}
@@ -1,17 +1,22 @@
 package com.example.Blogging_platform2.graphqlcontroller;
 
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.UserSummary;
 import com.example.Blogging_platform2.model.Role;
 import com.example.Blogging_platform2.model.User;
 import com.example.Blogging_platform2.service.UserService;
 import com.example.Blogging_platform2.exception.UserNotFoundException;
+import graphql.schema.DataFetchingEnvironment;
 import lombok.AllArgsConstructor;
 import org.springframework.graphql.data.method.annotation.Argument;
 import org.springframework.graphql.data.method.annotation.MutationMapping;
 import org.springframework.graphql.data.method.annotation.QueryMapping;
+import org.springframework.graphql.data.method.annotation.SchemaMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 
 @Controller
 @AllArgsConstructor
@@ -20,18 +25,23 @@ public class UserGraphQLController {
     private final UserService service;
 
     @QueryMapping
-    public List<User> getAllUsers() {
+    public List<UserSummary> getAllUsers() {
         return service.findAll();
     }
 
     @QueryMapping
-    public User getUser(@Argument Long id) {
+    public UserSummary getUser(@Argument Long id) {
         return service.findById(id)
                 .orElseThrow(() -> new UserNotFoundException("User with ID " + id + " not found"));
     }
 
+    @SchemaMapping(typeName = "User", field = "posts")
+    public CompletableFuture<List<PostDetail>> posts(UserSummary user, DataFetchingEnvironment env) {
+        return GraphQLDataLoaders.load(env, GraphQLDataLoaders.POSTS_BY_USER, user.id());
+    }
+
     @MutationMapping
-    public User createUser(@Argument String username,
+    public UserSummary createUser(@Argument String username,
                            @Argument String email,
                            @Argument String password) {
         User user = new User();
@@ -0,0 +1,54 @@
+package com.example.Blogging_platform2.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// Denormalized counters per post, maintained by PostStatsService with SQL increments (never saved through JPA).
+// The leaderboard key rating_score is a generated column added by db/post-stats.sql, so it is not mapped here
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "post_stats")
+public class PostStats {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    @Column(name = "comment_count", nullable = false)
+    private Long commentCount;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+
+    @Column(name = "rating_count", nullable = false)
+    private Long ratingCount;
+
+    @Column(name = "rating_sum", nullable = false)
+    private Long ratingSum;
+
+    // Rating histogram, one column per star; the default lets ddl-auto add them to a filled table
+    @Column(name = "rating_1_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long rating1Count;
+
+    @Column(name = "rating_2_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long rating2Count;
+
+    @Column(name = "rating_3_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long rating3Count;
+
+    @Column(name = "rating_4_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long rating4Count;
+
+    @Column(name = "rating_5_count", nullable = false, columnDefinition = "bigint default 0")
+    private Long rating5Count;
+
+    public List<Long> ratingHistogram() {
+        return List.of(rating1Count, rating2Count, rating3Count, rating4Count, rating5Count);
+    }
+}
@@ -15,7 +15,8 @@ import org.hibernate.annotations.CreationTimestamp;
 public class PostView {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "post_views_seq")
+    @SequenceGenerator(name = "post_views_seq", sequenceName = "post_views_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
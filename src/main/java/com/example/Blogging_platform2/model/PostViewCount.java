@@ -0,0 +1,21 @@
+package com.example.Blogging_platform2.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Daily view rollup per post, maintained by PostViewCounterService (never written row-by-row)
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "post_view_counts")
+public class PostViewCount {
+
+    @EmbeddedId
+    private PostViewCountId id;
+
+    @Column(name = "view_count", nullable = false)
+    private Long viewCount;
+}
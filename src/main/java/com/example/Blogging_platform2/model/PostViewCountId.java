@@ -0,0 +1,23 @@
+package com.example.Blogging_platform2.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Embeddable
+public class PostViewCountId implements Serializable {
+
+    @Column(name = "post_id", nullable = false)
+    private Long postId;
+
+    @Column(name = "view_date", nullable = false)
+    private LocalDate viewDate;
+}
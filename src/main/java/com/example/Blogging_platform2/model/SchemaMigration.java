@@ -0,0 +1,24 @@
+package com.example.Blogging_platform2.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// One-off migrations already applied to this database (written by OneOffMigrations). Mapped so that
+// ddl-auto creates it, and create-drop drops it together with the tables the migrations changed
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "schema_migrations")
+public class SchemaMigration {
+
+    @Id
+    private String name;
+
+    @Column(name = "applied_at", nullable = false)
+    private LocalDateTime appliedAt;
+}
@@ -0,0 +1,28 @@
+package com.example.Blogging_platform2.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+// Cluster-wide trending scores: every node's TrendingService merges its engagement in and reloads from here
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "trending_scores")
+public class TrendingScore {
+
+    @Id
+    @Column(name = "post_id")
+    private Long postId;
+
+    // Decayed score as of scoredAt
+    @Column(nullable = false)
+    private Double score;
+
+    @Column(name = "scored_at", nullable = false)
+    private LocalDateTime scoredAt;
+}
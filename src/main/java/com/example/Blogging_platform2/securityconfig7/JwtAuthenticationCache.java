@@ -0,0 +1,87 @@
+package com.example.Blogging_platform2.securityconfig7;
+
+import com.example.Blogging_platform2.event.UserSecurityChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Verified tokens and the {@link UserDetails} built from them, so repeated requests with the
+ * same bearer token skip signature verification and the user lookup. Entries never outlive
+ * the token itself. When a user's security state changes their entries are dropped, and any
+ * token issued before that moment is re-checked against the database instead of its claims.
+ */
+@Component
+public class JwtAuthenticationCache {
+
+    private final Cache<String, CachedAuthentication> tokens;
+
+    // Username -> time of the last role change or deletion
+    private final Map<String, Instant> invalidatedAt = new ConcurrentHashMap<>();
+
+    private final Duration tokenLifetime;
+
+    public JwtAuthenticationCache(JwtUtil jwtUtil,
+                                  @Value("${blog.security.jwt-cache.max-size:10000}") long maxSize,
+                                  @Value("${blog.security.jwt-cache.ttl-seconds:300}") long ttlSeconds) {
+        this.tokenLifetime = Duration.ofMillis(jwtUtil.getExpirationTimeMs());
+        long maxTtlNanos = Duration.ofSeconds(ttlSeconds).toNanos();
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedAuthentication>() {
+                    @Override
+                    public long expireAfterCreate(String token, CachedAuthentication auth, long currentTime) {
+                        long untilTokenExpiry = Duration.between(Instant.now(), auth.expiresAt()).toNanos();
+                        return Math.max(0, Math.min(maxTtlNanos, untilTokenExpiry));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String token, CachedAuthentication auth, long currentTime, long currentDuration) {
+                        return expireAfterCreate(token, auth, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String token, CachedAuthentication auth, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    public UserDetails get(String token) {
+        CachedAuthentication cached = tokens.getIfPresent(token);
+        return cached != null ? cached.userDetails() : null;
+    }
+
+    public void put(String token, UserDetails userDetails, Instant expiresAt) {
+        tokens.put(token, new CachedAuthentication(userDetails, expiresAt));
+    }
+
+    // Claims of a token issued before the user's last security change can no longer be trusted
+    public boolean isStale(String username, Instant issuedAt) {
+        Instant changedAt = invalidatedAt.get(username);
+        return changedAt != null && (issuedAt == null || !issuedAt.isAfter(changedAt));
+    }
+
+    // Runs after the change commits; fallbackExecution covers callers without a transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserSecurityChanged(UserSecurityChangedEvent event) {
+        Instant now = Instant.now();
+        invalidatedAt.put(event.username(), now);
+        tokens.asMap().values().removeIf(auth -> auth.userDetails().getUsername().equals(event.username()));
+        // Tokens older than their lifetime are expired anyway, so old markers can go
+        invalidatedAt.values().removeIf(changedAt -> changedAt.isBefore(now.minus(tokenLifetime)));
+    }
+
+    private record CachedAuthentication(UserDetails userDetails, Instant expiresAt) {
+    }
+}
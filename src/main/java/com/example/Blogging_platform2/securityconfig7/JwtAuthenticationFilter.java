@@ -1,5 +1,7 @@
 package com.example.Blogging_platform2.securityconfig7;
 import com.example.Blogging_platform2.service.CustomUserDetailsService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -7,11 +9,14 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.time.Instant;
 
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -19,6 +24,9 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private JwtAuthenticationCache authenticationCache;
+
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
@@ -28,18 +36,13 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
 
         String authHeader = request.getHeader("Authorization");
-        String username = null;
-        String token = null;
 
-        if (authHeader != null && authHeader.startsWith("Bearer ")) {
-            token = authHeader.substring(7);
-            username = jwtUtil.extractUsername(token);
-        }
+        if (authHeader != null && authHeader.startsWith("Bearer ")
+                && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String token = authHeader.substring(7);
+            UserDetails userDetails = resolveUser(token);
 
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-
-            if (jwtUtil.validateToken(token, userDetails.getUsername())) {
+            if (userDetails != null) {
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
 
@@ -49,4 +52,35 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    // Cached token -> no parsing, no DB. Otherwise parse once and trust the roles claim,
+    // unless the user's roles changed after the token was issued.
+    private UserDetails resolveUser(String token) {
+        UserDetails cached = authenticationCache.get(token);
+        if (cached != null) {
+            return cached;
+        }
+        try {
+            Claims claims = jwtUtil.parseClaims(token);
+            String username = claims.getSubject();
+            if (username == null) {
+                return null;
+            }
+            Instant issuedAt = claims.getIssuedAt() != null ? claims.getIssuedAt().toInstant() : null;
+            UserDetails userDetails = authenticationCache.isStale(username, issuedAt)
+                    ? userDetailsService.loadUserByUsername(username)
+                    : User.withUsername(username)
+                            .password("")
+                            .authorities(jwtUtil.extractAuthorities(claims))
+                            .build();
+            if (claims.getExpiration() != null) {
+                authenticationCache.put(token, userDetails, claims.getExpiration().toInstant());
+            }
+            return userDetails;
+        } catch (JwtException | IllegalArgumentException | UsernameNotFoundException e) {
+            // Invalid, expired or orphaned token: carry on unauthenticated and let authorization decide
+            logger.debug("Rejected bearer token: " + e.getMessage());
+            return null;
+        }
+    }
 }
@@ -2,11 +2,15 @@ package com.example.Blogging_platform2.securityconfig7;
 
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Component;
 
 import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.util.Arrays;
 import java.util.Date;
+import java.util.List;
 
 @Component
 public class JwtUtil {
@@ -16,6 +20,9 @@ public class JwtUtil {
     // Generate a secure random key at runtime
     private final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
 
+    // Parsers are immutable and thread-safe, build it once
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(key).build();
+
     // Generate token
     public String generateToken(String username, String roles) {
         return Jwts.builder()
@@ -27,29 +34,39 @@ public class JwtUtil {
                 .compact();
     }
 
+    // Verifies signature and expiry once and returns all claims; throws JwtException when invalid
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
+
+    // Authorities from the comma-separated roles claim minted at login
+    public List<GrantedAuthority> extractAuthorities(Claims claims) {
+        String roles = claims.get("roles", String.class);
+        if (roles == null || roles.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(roles.split(","))
+                .map(String::trim)
+                .filter(role -> !role.isEmpty())
+                .<GrantedAuthority>map(SimpleGrantedAuthority::new)
+                .toList();
+    }
+
+    public long getExpirationTimeMs() {
+        return EXPIRATION_TIME;
+    }
+
     // Extract username
     public String extractUsername(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getSubject();
+        return parseClaims(token).getSubject();
     }
 
-    // Validate token
+    // Validate token; expiry is already enforced while parsing
     public boolean validateToken(String token, String username) {
-        String extractedUsername = extractUsername(token);
-        return (extractedUsername.equals(username) && !isTokenExpired(token));
-    }
-
-    private boolean isTokenExpired(String token) {
-        Date expiration = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody()
-                .getExpiration();
-        return expiration.before(new Date());
+        try {
+            return parseClaims(token).getSubject().equals(username);
+        } catch (JwtException e) {
+            return false;
+        }
     }
 }
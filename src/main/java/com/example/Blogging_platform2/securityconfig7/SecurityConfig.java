@@ -57,6 +57,10 @@ public class SecurityConfig {
                                 "/v3/api-docs.yaml"
                         ).permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        // Every endpoint is exposed, including writes (POST, DELETE) and heap/thread
+                        // dumps; only health stays open to any authenticated caller
+                        .requestMatchers("/actuator/health", "/actuator/health/**").authenticated()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .requestMatchers("/author/**").hasRole("AUTHOR")
                         .requestMatchers("/reader/**").hasRole("READER")
                         .anyRequest().authenticated()
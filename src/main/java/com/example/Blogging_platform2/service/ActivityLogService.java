@@ -1,11 +1,13 @@
 package com.example.Blogging_platform2.service;
 
+import com.example.Blogging_platform2.cache.CacheNames;
 import com.example.Blogging_platform2.dao.ActivityLogDao;
 import com.example.Blogging_platform2.exception.ActivityLogNotFoundException;
 import com.example.Blogging_platform2.model.ActivityLog;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,8 @@ import java.util.Optional;
 
 @Service
 public class ActivityLogService {
+    private static final int MAX_BATCH_SIZE = 1000;
+
     private final ActivityLogDao activityLogDao;
 
     public ActivityLogService(ActivityLogDao activityLogDao) {
@@ -21,25 +25,40 @@ public class ActivityLogService {
     }
 
     @Transactional
-    @CachePut(value = "activityLogs", key = "#result.id")
+    @Caching(put = @CachePut(value = CacheNames.ACTIVITY_LOGS, key = "#result.id"),
+             evict = @CacheEvict(value = CacheNames.ACTIVITY_LOG_LISTS, allEntries = true))
     public ActivityLog saveLog(ActivityLog log) {
         return activityLogDao.save(log);
     }
 
+    // One transaction; Hibernate sends the inserts in JDBC batches (hibernate.jdbc.batch_size).
+    // Single logs are not put in the cache, nobody reads a log right after a bulk write
+    @Transactional
+    @CacheEvict(value = CacheNames.ACTIVITY_LOG_LISTS, allEntries = true)
+    public List<ActivityLog> saveLogs(List<ActivityLog> logs) {
+        if (logs.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("At most " + MAX_BATCH_SIZE + " logs per batch");
+        }
+        return activityLogDao.saveAll(logs);
+    }
+
     @Transactional(readOnly = true)
-    @Cacheable(value = "activityLogs", key = "'all'")
+    @Cacheable(value = CacheNames.ACTIVITY_LOG_LISTS, key = "'all'")
     public List<ActivityLog> getAllLogs() {
         return activityLogDao.findAll();
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "activityLogs", key = "#id")
+    @Cacheable(value = CacheNames.ACTIVITY_LOGS, key = "#id", unless = "#result == null")
     public Optional<ActivityLog> getLogById(Long id) {
         return activityLogDao.findById(id);
     }
 
     @Transactional
-    @CacheEvict(value = "activityLogs", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ACTIVITY_LOGS, key = "#id"),
+            @CacheEvict(value = CacheNames.ACTIVITY_LOG_LISTS, allEntries = true)
+    })
     public void deleteLog(Long id) {
         if (!activityLogDao.existsById(id)) {
             throw new ActivityLogNotFoundException(id);
@@ -48,20 +67,24 @@ public class ActivityLogService {
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "activityLogs", key = "#id")
+    @Cacheable(value = CacheNames.ACTIVITY_LOGS, key = "#id")
     public ActivityLog getLog(Long id) {
         return activityLogDao.findById(id)
                 .orElseThrow(() -> new ActivityLogNotFoundException(id));
     }
 
     @Transactional
-    @CachePut(value = "activityLogs", key = "#result.id")
+    @Caching(put = @CachePut(value = CacheNames.ACTIVITY_LOGS, key = "#result.id"),
+             evict = @CacheEvict(value = CacheNames.ACTIVITY_LOG_LISTS, allEntries = true))
     public ActivityLog createLog(ActivityLog log) {
         return activityLogDao.save(log);
     }
 
     @Transactional
-    @CacheEvict(value = "activityLogs", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.ACTIVITY_LOGS, key = "#id"),
+            @CacheEvict(value = CacheNames.ACTIVITY_LOG_LISTS, allEntries = true)
+    })
     public Boolean deleteLogReturnBoolean(Long id) {
         if (!activityLogDao.existsById(id)) {
             throw new ActivityLogNotFoundException(id);
@@ -0,0 +1,155 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.DecoratingCacheManager;
+import com.example.Blogging_platform2.cache.HotKeyTracker;
+import com.example.Blogging_platform2.cache.MeteredStatsCounter;
+import com.example.Blogging_platform2.dto.CacheStatsDto;
+import com.example.Blogging_platform2.exception.ResourceNotFoundException;
+import com.github.benmanes.caffeine.cache.Policy;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.stereotype.Service;
+import org.springframework.util.unit.DataSize;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Stats and runtime tuning for every cache of the {@link DecoratingCacheManager}. Hit ratio and
+ * weight are also exported as gauges ({@code blog.cache.hit.ratio}, {@code blog.cache.weight},
+ * {@code blog.cache.weight.max}) next to the actuator cache metrics. A resize only lasts until
+ * the next restart; make it permanent in {@code blog.cache.specs}.
+ */
+@Service
+public class CacheStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheStatsService.class);
+
+    private final DecoratingCacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
+
+    public CacheStatsService(DecoratingCacheManager cacheManager, MeterRegistry meterRegistry) {
+        this.cacheManager = cacheManager;
+        this.meterRegistry = meterRegistry;
+        cacheManager.getCacheNames().forEach(this::registerGauges);
+    }
+
+    public List<CacheStatsDto> getAllStats(int topKeys) {
+        return cacheManager.getCacheNames().stream()
+                .sorted()
+                .map(name -> toDto(name, nativeCache(name), topKeys))
+                .toList();
+    }
+
+    public CacheStatsDto getStats(String cacheName, int topKeys) {
+        return toDto(cacheName, nativeCache(cacheName), topKeys);
+    }
+
+    public void clear(String cacheName) {
+        requireCache(cacheName).clear();
+        logger.info("Cleared cache {}", cacheName);
+    }
+
+    public CacheStatsDto resize(String cacheName, DataSize maximumWeight) {
+        if (maximumWeight.toBytes() <= 0) {
+            throw new IllegalArgumentException("Maximum weight must be positive");
+        }
+        Policy.Eviction<?, ?> eviction = nativeCache(cacheName).policy().eviction()
+                .orElseThrow(() -> new IllegalArgumentException("Cache " + cacheName + " is not bounded"));
+        eviction.setMaximum(maximumWeight.toBytes());
+        logger.info("Resized cache {} to {} bytes", cacheName, maximumWeight.toBytes());
+        return getStats(cacheName, 0);
+    }
+
+    private void registerGauges(String cacheName) {
+        com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache = nativeCache(cacheName);
+        Gauge.builder("blog.cache.hit.ratio", nativeCache, c -> c.stats().hitRate())
+                .description("Share of cache reads that were hits")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        Gauge.builder("blog.cache.weight", nativeCache, c -> eviction(c).map(e -> e.weightedSize().orElse(0)).orElse(0L))
+                .description("Approximate bytes held by the cache")
+                .tag("cache", cacheName)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("blog.cache.weight.max", nativeCache, c -> eviction(c).map(Policy.Eviction::getMaximum).orElse(0L))
+                .description("Maximum weight of the cache")
+                .tag("cache", cacheName)
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private CacheStatsDto toDto(String cacheName, com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache, int topKeys) {
+        CacheStats stats = nativeCache.stats();
+        Optional<? extends Policy.Eviction<?, ?>> eviction = eviction(nativeCache);
+        HotKeyTracker tracker = cacheManager.getHotKeyTracker(cacheName);
+        List<String> hottestKeys = tracker == null || topKeys <= 0 ? List.of()
+                : tracker.hottest(topKeys).stream().map(String::valueOf).toList();
+        return new CacheStatsDto(cacheName,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadSuccessCount(),
+                stats.loadFailureCount(),
+                stats.averageLoadPenalty() / 1_000_000.0,
+                loadPercentiles(cacheName),
+                evictionsByCause(cacheName),
+                nativeCache.estimatedSize(),
+                eviction.flatMap(e -> e.weightedSize().isPresent() ? Optional.of(e.weightedSize().getAsLong()) : Optional.empty())
+                        .orElse(null),
+                eviction.map(Policy.Eviction::getMaximum).orElse(null),
+                hottestKeys);
+    }
+
+    private Map<String, Double> loadPercentiles(String cacheName) {
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        Timer timer = meterRegistry.find(MeteredStatsCounter.LOADS)
+                .tags("cache", cacheName, "result", "success")
+                .timer();
+        if (timer != null) {
+            for (ValueAtPercentile value : timer.takeSnapshot().percentileValues()) {
+                percentiles.put("p" + Math.round(value.percentile() * 100), value.value(TimeUnit.MILLISECONDS));
+            }
+        }
+        return percentiles;
+    }
+
+    private Map<String, Long> evictionsByCause(String cacheName) {
+        Map<String, Long> evictions = new LinkedHashMap<>();
+        for (Counter counter : meterRegistry.find(MeteredStatsCounter.EVICTIONS).tag("cache", cacheName).counters()) {
+            evictions.put(counter.getId().getTag("cause"), (long) counter.count());
+        }
+        return evictions;
+    }
+
+    private static Optional<? extends Policy.Eviction<?, ?>> eviction(com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+        return nativeCache.policy().eviction();
+    }
+
+    // Only existing caches; getCache alone would create any name asked for
+    private Cache requireCache(String cacheName) {
+        Cache cache = cacheManager.getCacheNames().contains(cacheName) ? cacheManager.getCache(cacheName) : null;
+        if (cache == null) {
+            throw new ResourceNotFoundException("Cache " + cacheName + " not found");
+        }
+        return cache;
+    }
+
+    // Plain Caffeine caches and the L1 of two-tier caches both expose the Caffeine cache
+    private com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache(String cacheName) {
+        if (requireCache(cacheName).getNativeCache() instanceof com.github.benmanes.caffeine.cache.Cache<?, ?> nativeCache) {
+            return nativeCache;
+        }
+        throw new IllegalArgumentException("Cache " + cacheName + " is not a Caffeine cache");
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.cache.CacheProperties;
+import com.example.Blogging_platform2.cache.HotKeySnapshotter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Reloads the keys from the last hot-key snapshot through the cached service methods before the
+ * application reports ready: runners finish before ApplicationReadyEvent, which is what flips the
+ * readiness probe. Loads run on a fixed pool of {@code blog.cache.warmup.concurrency} threads and
+ * are abandoned after {@code blog.cache.warmup.timeout}; ids that no longer exist are skipped.
+ */
+@Component
+public class CacheWarmer implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(CacheWarmer.class);
+
+    private final HotKeySnapshotter snapshotter;
+    private final CacheProperties.Warmup warmup;
+    private final Map<String, Consumer<Long>> loaders;
+
+    public CacheWarmer(HotKeySnapshotter snapshotter,
+                       CacheProperties properties,
+                       PostService postService,
+                       TagService tagService,
+                       UserService userService) {
+        this.snapshotter = snapshotter;
+        this.warmup = properties.getWarmup();
+        this.loaders = Map.of(
+                CacheNames.POSTS, postService::getPostById,
+                CacheNames.TAGS, tagService::getTagById,
+                CacheNames.USERS, userService::findById);
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws InterruptedException {
+        if (!warmup.isEnabled()) {
+            return;
+        }
+        Map<String, List<Long>> snapshot = snapshotter.readSnapshot();
+        if (snapshot.isEmpty()) {
+            logger.info("No cache hot-key snapshot at {}, starting cold", warmup.getSnapshotFile());
+            return;
+        }
+
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        int submitted = 0;
+        AtomicInteger threads = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(warmup.getConcurrency(),
+                runnable -> new Thread(runnable, "cache-warmup-" + threads.incrementAndGet()));
+        try {
+            for (Map.Entry<String, List<Long>> entry : snapshot.entrySet()) {
+                Consumer<Long> loader = loaders.get(entry.getKey());
+                if (loader == null) {
+                    logger.warn("No warm-up loader for cache '{}', skipping {} keys", entry.getKey(), entry.getValue().size());
+                    continue;
+                }
+                for (Long id : entry.getValue()) {
+                    pool.execute(() -> {
+                        try {
+                            loader.accept(id);
+                            loaded.incrementAndGet();
+                        } catch (RuntimeException e) {
+                            // Typically deleted since the snapshot was taken
+                            failed.incrementAndGet();
+                        }
+                    });
+                    submitted++;
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        if (!pool.awaitTermination(warmup.getTimeout().toMillis(), TimeUnit.MILLISECONDS)) {
+            pool.shutdownNow();
+            logger.warn("Cache warm-up timed out after {}, continuing with a partly warm cache", warmup.getTimeout());
+        }
+        logger.info("Cache warm-up loaded {} of {} keys ({} skipped) in {} ms", loaded.get(), submitted, failed.get(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+}
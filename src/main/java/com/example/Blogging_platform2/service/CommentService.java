@@ -1,6 +1,9 @@
 package com.example.Blogging_platform2.service;
 
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.dto.CommentDetail;
 import com.example.Blogging_platform2.dto.CommentDto;
+import com.example.Blogging_platform2.event.PostEngagementEvent;
 import com.example.Blogging_platform2.exception.CommentNotFoundException;
 import com.example.Blogging_platform2.exception.PostNotFoundException;
 import com.example.Blogging_platform2.exception.UserNotFoundException;
@@ -10,12 +13,17 @@ import com.example.Blogging_platform2.model.User;
 import com.example.Blogging_platform2.dao.CommentDao;
 import com.example.Blogging_platform2.dao.PostDao;
 import com.example.Blogging_platform2.dao.UserDao;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 
 @Service
@@ -23,16 +31,24 @@ public class CommentService {
     private final CommentDao commentDao;
     private final UserDao userDao;
     private final PostDao postDao;
+    private final CacheManager cacheManager;
+    private final PostStatsService postStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public CommentService(CommentDao commentDao, UserDao userDao, PostDao postDao) {
+    public CommentService(CommentDao commentDao, UserDao userDao, PostDao postDao, CacheManager cacheManager,
+                          PostStatsService postStatsService, ApplicationEventPublisher eventPublisher) {
         this.commentDao = commentDao;
         this.userDao = userDao;
         this.postDao = postDao;
+        this.cacheManager = cacheManager;
+        this.postStatsService = postStatsService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    @CachePut(value = "comments", key = "#result.id")
-    public Comment saveComment(CommentDto dto) {
+    @Caching(put = @CachePut(value = CacheNames.COMMENTS, key = "#result.id"),
+             evict = @CacheEvict(value = CacheNames.COMMENTS_BY_POST, key = "#dto.postId"))
+    public CommentDetail saveComment(CommentDto dto) {
         Post post = postDao.findById(dto.getPostId())
                 .orElseThrow(() -> new PostNotFoundException(dto.getPostId()));
         User user = userDao.findById(dto.getUserId())
@@ -43,27 +59,45 @@ public class CommentService {
         comment.setUser(user);
         comment.setContent(dto.getContent());
 
-        return commentDao.save(comment);
+        CommentDetail saved = CommentDetail.from(commentDao.save(comment));
+        postStatsService.addCommentsAfterCommit(post.getId(), 1);
+        eventPublisher.publishEvent(new PostEngagementEvent(post.getId(), PostEngagementEvent.Kind.COMMENT));
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "comments", key = "#id")
-    public Comment getCommentById(Long id) {
-        return commentDao.findById(id)
+    @Cacheable(value = CacheNames.COMMENTS, key = "#id", sync = true)
+    public CommentDetail getCommentById(Long id) {
+        return commentDao.findDetailById(id)
                 .orElseThrow(() -> new CommentNotFoundException(id));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "comments", key = "#postId")
-    public List<Comment> getCommentsByPost(Long postId) {
-        return commentDao.findAllByPostId(postId);
+    @Cacheable(value = CacheNames.COMMENTS_BY_POST, key = "#postId", sync = true)
+    public List<CommentDetail> getCommentsByPost(Long postId) {
+        return commentDao.findDetailsByPostId(postId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CommentDetail> getCommentsByPostIds(Collection<Long> postIds) {
+        return commentDao.findDetailsByPostIdIn(postIds);
     }
 
     @Transactional
-    @CacheEvict(value = "comments", key = "#id")
+    @CacheEvict(value = CacheNames.COMMENTS, key = "#id")
     public void deleteComment(Long id) {
         Comment comment = commentDao.findById(id)
                 .orElseThrow(() -> new CommentNotFoundException(id));
         commentDao.deleteById(id);
+        // The parent post is only known after loading the comment
+        evict(CacheNames.COMMENTS_BY_POST, comment.getPost().getId());
+        postStatsService.addCommentsAfterCommit(comment.getPost().getId(), -1);
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
     }
 }
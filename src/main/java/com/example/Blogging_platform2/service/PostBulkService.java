@@ -0,0 +1,186 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.dao.PostDao;
+import com.example.Blogging_platform2.dto.BulkImportResult;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.PostDto;
+import com.example.Blogging_platform2.model.Post;
+import com.example.Blogging_platform2.model.User;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Bulk import and export of posts as NDJSON (one JSON object per line). Imports are read line by
+ * line and written in batches, each in its own transaction, so a bad row only costs its batch a
+ * row-by-row retry and the upload can be any size. Exports stream from a database cursor
+ * straight to the response.
+ */
+@Service
+public class PostBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostBulkService.class);
+
+    static final int BATCH_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private final PostDao postDao;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+
+    public PostBulkService(PostDao postDao,
+                           ObjectMapper objectMapper,
+                           Validator validator,
+                           PlatformTransactionManager transactionManager) {
+        this.postDao = postDao;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    // Ids and timestamps in the input are ignored, every row becomes a new post
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.POST_PAGES, allEntries = true),
+            @CacheEvict(value = CacheNames.POST_SEARCH, allEntries = true),
+            @CacheEvict(value = CacheNames.POSTS_BY_USER, allEntries = true)
+    })
+    public BulkImportResult importPosts(InputStream ndjson) throws IOException {
+        ObjectReader reader = objectMapper.readerFor(PostDto.class);
+        ImportReport report = new ImportReport();
+        List<PendingRow> batch = new ArrayList<>(BATCH_SIZE);
+
+        BufferedReader lines = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        long lineNumber = 0;
+        String line;
+        while ((line = lines.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+            PostDto dto;
+            try {
+                dto = reader.readValue(line);
+            } catch (JsonProcessingException e) {
+                report.fail(lineNumber, "Malformed JSON: " + e.getOriginalMessage());
+                continue;
+            }
+            Set<ConstraintViolation<PostDto>> violations = validator.validate(dto);
+            if (!violations.isEmpty()) {
+                report.fail(lineNumber, violations.stream()
+                        .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                        .sorted()
+                        .collect(Collectors.joining(", ")));
+                continue;
+            }
+            batch.add(new PendingRow(lineNumber, dto));
+            if (batch.size() == BATCH_SIZE) {
+                writeBatch(batch, report);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            writeBatch(batch, report);
+        }
+        logger.info("Bulk post import: {} imported, {} failed", report.imported, report.failed);
+        return new BulkImportResult(report.imported, report.failed, report.errors);
+    }
+
+    // Rows go from a server-side cursor straight to the output; nothing is collected in memory
+    @Transactional(readOnly = true)
+    public long exportPosts(OutputStream out) throws IOException {
+        long exported = 0;
+        try (Stream<PostDetail> posts = postDao.streamAllDetails();
+             SequenceWriter writer = objectMapper.writer()
+                     .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                     .withRootValueSeparator("\n")
+                     .writeValues(out)) {
+            for (PostDetail post : (Iterable<PostDetail>) posts::iterator) {
+                writer.write(post);
+                exported++;
+            }
+        }
+        out.write('\n');
+        out.flush();
+        return exported;
+    }
+
+    // A failed batch (e.g. one unknown user id) is retried row by row to find the bad rows
+    private void writeBatch(List<PendingRow> batch, ImportReport report) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> insert(batch));
+            report.imported += batch.size();
+        } catch (DataAccessException e) {
+            logger.debug("Bulk insert of {} posts failed, retrying individually: {}", batch.size(), e.getMessage());
+            for (PendingRow row : batch) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> insert(List.of(row)));
+                    report.imported++;
+                } catch (DataAccessException rowFailure) {
+                    report.fail(row.line(), NestedExceptionUtils.getMostSpecificCause(rowFailure).getMessage());
+                }
+            }
+        }
+    }
+
+    private void insert(List<PendingRow> rows) {
+        List<Post> posts = postDao.saveAll(rows.stream().map(row -> toEntity(row.dto())).toList());
+        postDao.flush();
+        postDao.refreshSearchVectors(posts.stream().map(Post::getId).toList());
+    }
+
+    private Post toEntity(PostDto dto) {
+        Post post = new Post();
+        post.setTitle(dto.getTitle());
+        post.setContent(dto.getContent());
+
+        // JPA expects entity references instead of raw IDs
+        User user = new User();
+        user.setId(dto.getUserId());
+        post.setUser(user);
+        return post;
+    }
+
+    private record PendingRow(long line, PostDto dto) {
+    }
+
+    private static class ImportReport {
+        private long imported;
+        private long failed;
+        private final List<BulkImportResult.RowError> errors = new ArrayList<>();
+
+        void fail(long line, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new BulkImportResult.RowError(line, message));
+            }
+        }
+    }
+}
@@ -1,83 +1,215 @@
 package com.example.Blogging_platform2.service;
 
+import com.example.Blogging_platform2.cache.CacheNames;
 import com.example.Blogging_platform2.dao.PostDao;
+import com.example.Blogging_platform2.dto.CursorPageDto;
+import com.example.Blogging_platform2.dto.PostCursor;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.PostSearchHit;
+import com.example.Blogging_platform2.dto.PostSummary;
+import com.example.Blogging_platform2.event.PostDeletedEvent;
 import com.example.Blogging_platform2.exception.PostNotFoundException;
 import com.example.Blogging_platform2.model.Post;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class PostService {
+    public static final int MAX_CURSOR_PAGE_SIZE = 100;
+
     private final PostDao postDao;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PostService(PostDao postDao) {
+    public PostService(PostDao postDao, ApplicationEventPublisher eventPublisher) {
         this.postDao = postDao;
+        this.eventPublisher = eventPublisher;
     }
 
+    // A new post shifts every listing and search page, so those regions are cleared
     @Transactional
-    @CachePut(value = "posts", key = "#result.id")
-    public Post savePost(Post post) {
-        return postDao.save(post);
+    @Caching(put = @CachePut(value = CacheNames.POSTS, key = "#result.id"),
+             evict = {
+                     @CacheEvict(value = CacheNames.POST_PAGES, allEntries = true),
+                     @CacheEvict(value = CacheNames.POST_SEARCH, allEntries = true),
+                     @CacheEvict(value = CacheNames.POSTS_BY_USER, allEntries = true)
+             })
+    public PostDetail savePost(Post post) {
+        Post saved = postDao.saveAndFlush(post);
+        postDao.refreshSearchVector(saved.getId());
+        return PostDetail.from(saved);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "posts", key = "#id")
-    public Post getPostById(Long id) {
-        return postDao.findById(id)
+    @Cacheable(value = CacheNames.POSTS, key = "#id", sync = true)
+    public PostDetail getPostById(Long id) {
+        return postDao.findDetailById(id)
                 .orElseThrow(() -> new PostNotFoundException("Post with ID " + id + " not found"));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "postsByUser", key = "#userId")
-    public Page<Post> getPostsByUser(Long userId, Pageable pageable) {
-        return postDao.findByUserId(userId, pageable);
+    public List<PostDetail> getPostsByIds(Collection<Long> ids) {
+        return postDao.findDetailsByIdIn(ids);
+    }
+
+    @Transactional(readOnly = true)
+    public List<PostDetail> getPostsByUserIds(Collection<Long> userIds) {
+        return postDao.findDetailsByUserIdIn(userIds);
+    }
+
+    @Transactional(readOnly = true)
+    @Cacheable(value = CacheNames.POSTS_BY_USER,
+               key = "{#userId, #pageable.pageNumber, #pageable.pageSize, #pageable.sort.toString()}")
+    public Page<PostSummary> getPostsByUser(Long userId, Pageable pageable) {
+        return postDao.findSummariesByUserId(userId, pageable);
     }
 
+    // Full-text search over title, tag names and content, most relevant first
     @Transactional(readOnly = true)
-    @Cacheable(value = "posts", key = "#keyword")
-    public Page<Post> searchPostsByTitle(String keyword, Pageable pageable) {
-        return postDao.findByTitleContainingIgnoreCase(keyword, pageable);
+    @Cacheable(value = CacheNames.POST_SEARCH, key = "{#keyword, #pageable.pageNumber, #pageable.pageSize}")
+    public Page<PostSummary> searchPostsByTitle(String keyword, Pageable pageable) {
+        List<Long> ids = postDao.searchFullTextIds(keyword, pageable.getPageSize(), pageable.getOffset());
+        // IN (...) loses the rank order, restore it
+        Map<Long, PostSummary> byId = postDao.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(PostSummary::id, Function.identity()));
+        List<PostSummary> ranked = ids.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return new PageImpl<>(ranked, PageRequest.of(pageable.getPageNumber(), pageable.getPageSize()),
+                postDao.countFullTextMatches(keyword));
+    }
+
+    @Transactional(readOnly = true)
+    public Page<PostSearchHit> searchPostHits(String query, int page, int size) {
+        Pageable pageable = PageRequest.of(page, clampPageSize(size));
+        List<PostSearchHit> hits = postDao.searchFullTextHits(query, pageable.getPageSize(), pageable.getOffset());
+        return new PageImpl<>(hits, pageable, postDao.countFullTextMatches(query));
     }
 
     @Transactional
-    @CacheEvict(value = "posts", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.POSTS, key = "#id"),
+            @CacheEvict(value = CacheNames.COMMENTS_BY_POST, key = "#id"),
+            @CacheEvict(value = CacheNames.REVIEWS_BY_POST, key = "#id"),
+            @CacheEvict(value = CacheNames.POST_VIEWS_BY_POST, key = "#id"),
+            @CacheEvict(value = CacheNames.POST_PAGES, allEntries = true),
+            @CacheEvict(value = CacheNames.POST_SEARCH, allEntries = true),
+            @CacheEvict(value = CacheNames.POSTS_BY_USER, allEntries = true)
+    })
     public void deletePost(Long id) {
         if (!postDao.existsById(id)) {
             throw new RuntimeException("Post not found with id: " + id);
         }
         postDao.deleteById(id);
+        eventPublisher.publishEvent(new PostDeletedEvent(id));
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "posts", key = "{#page, #size, #sortBy}")
-    public Page<Post> getAllPosts(int page, int size, String sortBy) {
+    @Cacheable(value = CacheNames.POST_PAGES, key = "{#page, #size, #sortBy}")
+    public Page<PostSummary> getAllPosts(int page, int size, String sortBy) {
         Pageable pageable = PageRequest.of(page, size, Sort.by(sortBy).ascending());
-        return postDao.findAll(pageable);
+        return postDao.findSummaries(pageable);
     }
 
+    // Keyset pagination: every page costs the same index seek, no matter how deep
     @Transactional(readOnly = true)
-    @Cacheable(value = "posts", key = "'all'")
-    public List<Post> getAllPosts() {
-        return postDao.findAll();
+    public CursorPageDto<PostDetail> getPostsAfter(String cursor, int size) {
+        return getPostsAfter(null, cursor, size);
+    }
+
+    // userId is optional; when set only that author's posts are listed
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostDetail> getPostsAfter(Long userId, String cursor, int size) {
+        Pageable limit = PageRequest.ofSize(clampPageSize(size));
+        PostCursor position = cursor == null || cursor.isBlank() ? null : PostCursor.decode(cursor);
+        Slice<PostDetail> slice;
+        if (userId == null) {
+            slice = position == null
+                    ? postDao.findLatest(limit)
+                    : postDao.findLatestBefore(position.createdAt(), position.id(), limit);
+        } else {
+            slice = position == null
+                    ? postDao.findLatestByUser(userId, limit)
+                    : postDao.findLatestByUserBefore(userId, position.createdAt(), position.id(), limit);
+        }
+        return toCursorPage(slice);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostDetail> searchPostsAfter(String keyword, String cursor, int size) {
+        return searchPostsAfter(null, keyword, cursor, size);
+    }
+
+    @Transactional(readOnly = true)
+    public CursorPageDto<PostDetail> searchPostsAfter(Long userId, String keyword, String cursor, int size) {
+        int pageSize = clampPageSize(size);
+        PostCursor position = cursor == null || cursor.isBlank() ? null : PostCursor.decode(cursor);
+        // Fetch one extra id to know whether another page exists, without counting
+        List<Long> ids;
+        if (userId == null) {
+            ids = position == null
+                    ? postDao.searchLatest(keyword, pageSize + 1)
+                    : postDao.searchLatestBefore(keyword, position.createdAt(), position.id(), pageSize + 1);
+        } else {
+            ids = position == null
+                    ? postDao.searchLatestByUser(userId, keyword, pageSize + 1)
+                    : postDao.searchLatestByUserBefore(userId, keyword, position.createdAt(), position.id(), pageSize + 1);
+        }
+        boolean hasNext = ids.size() > pageSize;
+        List<Long> pageIds = hasNext ? ids.subList(0, pageSize) : ids;
+        Map<Long, PostDetail> byId = postDao.findDetailsByIdIn(pageIds).stream()
+                .collect(Collectors.toMap(PostDetail::id, Function.identity()));
+        List<PostDetail> content = pageIds.stream().map(byId::get).filter(Objects::nonNull).toList();
+        return toCursorPage(new SliceImpl<>(content, PageRequest.ofSize(pageSize), hasNext));
     }
 
     @Transactional
-    @CachePut(value = "posts", key = "#id")
-    public Post updatePost(Long id, Post updatedPost) {
-        Post existingPost = getPostById(id);
+    @Caching(put = @CachePut(value = CacheNames.POSTS, key = "#id"),
+             evict = {
+                     @CacheEvict(value = CacheNames.POST_PAGES, allEntries = true),
+                     @CacheEvict(value = CacheNames.POST_SEARCH, allEntries = true),
+                     @CacheEvict(value = CacheNames.POSTS_BY_USER, allEntries = true)
+             })
+    public PostDetail updatePost(Long id, Post updatedPost) {
+        Post existingPost = postDao.findById(id)
+                .orElseThrow(() -> new PostNotFoundException("Post with ID " + id + " not found"));
         existingPost.setTitle(updatedPost.getTitle());
         existingPost.setContent(updatedPost.getContent());
         existingPost.setUpdatedAt(LocalDateTime.now());
-        return postDao.save(existingPost);
+        Post saved = postDao.saveAndFlush(existingPost);
+        postDao.refreshSearchVector(id);
+        // Re-read so the cached detail keeps its post_stats counters
+        return postDao.findDetailById(id).orElseGet(() -> PostDetail.from(saved));
+    }
+
+    private int clampPageSize(int size) {
+        return Math.max(1, Math.min(size, MAX_CURSOR_PAGE_SIZE));
+    }
+
+    private CursorPageDto<PostDetail> toCursorPage(Slice<PostDetail> slice) {
+        List<PostDetail> posts = slice.getContent();
+        String nextCursor = null;
+        if (slice.hasNext() && !posts.isEmpty()) {
+            PostDetail last = posts.get(posts.size() - 1);
+            nextCursor = new PostCursor(last.createdAt(), last.id()).encode();
+        }
+        return new CursorPageDto<>(posts, nextCursor, slice.hasNext());
     }
 }
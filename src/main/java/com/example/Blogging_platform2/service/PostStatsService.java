@@ -0,0 +1,289 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.CacheNames;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Maintains the denormalized {@code post_stats} row of each post: comment count, view count and
+ * the rating count, sum and 1-5 star histogram. Comment, review and view writes record
+ * deltas in memory; a scheduled flush applies them as {@code count = count + delta} upserts in
+ * one JDBC batch, so nodes flushing concurrently never overwrite each other. {@link #rebuild()}
+ * recomputes every row from the source tables, nightly and on demand, to repair any drift; only
+ * one node runs it at a time.
+ */
+@Service
+public class PostStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostStatsService.class);
+
+    // Skips posts deleted in the meantime instead of failing the whole batch on the foreign key
+    private static final String INCREMENT_SQL =
+            "INSERT INTO post_stats (post_id, comment_count, view_count, rating_count, rating_sum, " +
+            "rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count) " +
+            "SELECT ?, ?, ?, ?, ?, ?, ?, ?, ?, ? WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) " +
+            "ON CONFLICT (post_id) DO UPDATE SET " +
+            "comment_count = post_stats.comment_count + EXCLUDED.comment_count, " +
+            "view_count = post_stats.view_count + EXCLUDED.view_count, " +
+            "rating_count = post_stats.rating_count + EXCLUDED.rating_count, " +
+            "rating_sum = post_stats.rating_sum + EXCLUDED.rating_sum, " +
+            "rating_1_count = post_stats.rating_1_count + EXCLUDED.rating_1_count, " +
+            "rating_2_count = post_stats.rating_2_count + EXCLUDED.rating_2_count, " +
+            "rating_3_count = post_stats.rating_3_count + EXCLUDED.rating_3_count, " +
+            "rating_4_count = post_stats.rating_4_count + EXCLUDED.rating_4_count, " +
+            "rating_5_count = post_stats.rating_5_count + EXCLUDED.rating_5_count";
+
+    // One pass over each child table; rows that are already right are not rewritten
+    private static final String REBUILD_SQL =
+            "INSERT INTO post_stats (post_id, comment_count, view_count, rating_count, rating_sum, " +
+            "rating_1_count, rating_2_count, rating_3_count, rating_4_count, rating_5_count) " +
+            "SELECT p.id, COALESCE(c.n, 0), COALESCE(v.n, 0), COALESCE(r.n, 0), COALESCE(r.total, 0), " +
+            "COALESCE(r.c1, 0), COALESCE(r.c2, 0), COALESCE(r.c3, 0), COALESCE(r.c4, 0), COALESCE(r.c5, 0) FROM posts p " +
+            "LEFT JOIN (SELECT post_id, count(*) AS n FROM comments GROUP BY post_id) c ON c.post_id = p.id " +
+            "LEFT JOIN (SELECT post_id, count(*) AS n FROM post_views GROUP BY post_id) v ON v.post_id = p.id " +
+            "LEFT JOIN (SELECT post_id, count(rating) AS n, sum(rating) AS total, " +
+            "count(*) FILTER (WHERE rating = 1) AS c1, count(*) FILTER (WHERE rating = 2) AS c2, " +
+            "count(*) FILTER (WHERE rating = 3) AS c3, count(*) FILTER (WHERE rating = 4) AS c4, " +
+            "count(*) FILTER (WHERE rating = 5) AS c5 FROM reviews GROUP BY post_id) r ON r.post_id = p.id " +
+            "ON CONFLICT (post_id) DO UPDATE SET comment_count = EXCLUDED.comment_count, " +
+            "view_count = EXCLUDED.view_count, rating_count = EXCLUDED.rating_count, rating_sum = EXCLUDED.rating_sum, " +
+            "rating_1_count = EXCLUDED.rating_1_count, rating_2_count = EXCLUDED.rating_2_count, " +
+            "rating_3_count = EXCLUDED.rating_3_count, rating_4_count = EXCLUDED.rating_4_count, " +
+            "rating_5_count = EXCLUDED.rating_5_count " +
+            "WHERE (post_stats.comment_count, post_stats.view_count, post_stats.rating_count, post_stats.rating_sum, " +
+            "post_stats.rating_1_count, post_stats.rating_2_count, post_stats.rating_3_count, " +
+            "post_stats.rating_4_count, post_stats.rating_5_count) IS DISTINCT FROM " +
+            "(EXCLUDED.comment_count, EXCLUDED.view_count, EXCLUDED.rating_count, EXCLUDED.rating_sum, " +
+            "EXCLUDED.rating_1_count, EXCLUDED.rating_2_count, EXCLUDED.rating_3_count, " +
+            "EXCLUDED.rating_4_count, EXCLUDED.rating_5_count)";
+
+    // Arbitrary, shared by every node; held for the rebuild transaction only
+    private static final long REBUILD_LOCK_KEY = 7_300_419_023L;
+
+    private static final String DELETE_ORPHANS_SQL =
+            "DELETE FROM post_stats s WHERE NOT EXISTS (SELECT 1 FROM posts p WHERE p.id = s.post_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+
+    // Deltas not yet written to post_stats. Only changed inside compute/merge, so a flush that
+    // removes an entry is guaranteed to see every delta added to it
+    private final ConcurrentHashMap<Long, Delta> pending = new ConcurrentHashMap<>();
+
+    // Keeps a rebuild from interleaving with a flush. A lock rather than synchronized: it is held
+    // across JDBC calls, which would pin a virtual thread
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public PostStatsService(JdbcTemplate jdbcTemplate, CacheManager cacheManager,
+                            PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public void addCommentsAfterCommit(Long postId, int delta) {
+        runAfterCommit(() -> add(postId, delta, 0, 0, 0));
+    }
+
+    // delta is +1 for a new rating and -1 for a removed one; a changed rating is one of each
+    public void addRatingAfterCommit(Long postId, int rating, int delta) {
+        if (rating < 1 || rating > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        runAfterCommit(() -> add(postId, 0, 0, rating, delta));
+    }
+
+    // Views are only reported once they are committed (see PostViewCounterService), so no deferral here
+    public void addViews(Long postId, long delta) {
+        add(postId, 0, delta, 0, 0);
+    }
+
+    @Scheduled(fixedDelayString = "${blog.posts.stats.flush-interval-ms:2000}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            flushPending();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // Pending deltas are flushed first; writes committing while the statement runs may still be
+    // counted twice, which the next rebuild corrects. Every node has the cron, so an advisory lock
+    // lets the first one through and the others skip; empty when another node was rebuilding
+    @Scheduled(cron = "${blog.posts.stats.rebuild-cron:0 30 3 * * *}")
+    public OptionalInt rebuild() {
+        flushLock.lock();
+        try {
+            flushPending();
+            long start = System.nanoTime();
+            int[] counts = transactionTemplate.execute(status -> {
+                Boolean locked = jdbcTemplate.queryForObject(
+                        "SELECT pg_try_advisory_xact_lock(?)", Boolean.class, REBUILD_LOCK_KEY);
+                if (!Boolean.TRUE.equals(locked)) {
+                    return null;
+                }
+                return new int[]{jdbcTemplate.update(REBUILD_SQL), jdbcTemplate.update(DELETE_ORPHANS_SQL)};
+            });
+            if (counts == null) {
+                logger.info("Skipped post_stats rebuild, another node is running it");
+                return OptionalInt.empty();
+            }
+            logger.info("Rebuilt post_stats in {} ms: {} rows corrected, {} orphans removed",
+                    (System.nanoTime() - start) / 1_000_000, counts[0], counts[1]);
+            clearCachedPosts();
+            return OptionalInt.of(counts[0]);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // A new post_stats table starts empty; fill it once instead of showing zeros until the nightly rebuild
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        Boolean empty = jdbcTemplate.queryForObject(
+                "SELECT NOT EXISTS (SELECT 1 FROM post_stats) AND EXISTS (SELECT 1 FROM posts)", Boolean.class);
+        if (Boolean.TRUE.equals(empty)) {
+            rebuild();
+        }
+    }
+
+    private void flushPending() {
+        List<Long> postIds = new ArrayList<>(pending.keySet());
+        List<Object[]> rows = new ArrayList<>(postIds.size());
+        List<Map.Entry<Long, Delta>> drained = new ArrayList<>(postIds.size());
+        for (Long postId : postIds) {
+            Delta delta = pending.remove(postId);
+            if (delta != null && !delta.isZero()) {
+                long[] h = delta.histogram;
+                rows.add(new Object[]{postId, delta.comments, delta.views, delta.ratings(), delta.ratingSum(),
+                        h[0], h[1], h[2], h[3], h[4], postId});
+                drained.add(Map.entry(postId, delta));
+            }
+        }
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        try {
+            jdbcTemplate.batchUpdate(INCREMENT_SQL, rows);
+        } catch (DataAccessException e) {
+            // Put the deltas back so the next run retries them
+            drained.forEach(entry -> pending.merge(entry.getKey(), entry.getValue(), Delta::plus));
+            logger.warn("Flushing {} post_stats rows failed, will retry: {}", rows.size(), e.getMessage());
+            return;
+        }
+
+        // Cached post details carry their counters; a hot post is viewed on nearly every flush, so view
+        // counts are left to go stale until the entry refreshes, and only comment and rating changes evict
+        Cache posts = cacheManager.getCache(CacheNames.POSTS);
+        if (posts != null) {
+            drained.stream()
+                    .filter(entry -> !entry.getValue().isViewsOnly())
+                    .forEach(entry -> posts.evict(entry.getKey()));
+        }
+        logger.debug("Flushed {} post_stats rows", rows.size());
+    }
+
+    private void clearCachedPosts() {
+        for (String name : List.of(CacheNames.POSTS, CacheNames.POST_PAGES, CacheNames.POST_SEARCH, CacheNames.POSTS_BY_USER)) {
+            Cache cache = cacheManager.getCache(name);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+
+    // rating is 0 for comment and view deltas
+    private void add(Long postId, long comments, long views, int rating, long ratingDelta) {
+        pending.compute(postId, (id, delta) -> {
+            Delta d = delta != null ? delta : new Delta();
+            d.comments += comments;
+            d.views += views;
+            if (rating > 0) {
+                d.histogram[rating - 1] += ratingDelta;
+            }
+            return d;
+        });
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    // Rating count and sum follow from the histogram
+    private static final class Delta {
+        private long comments;
+        private long views;
+        private final long[] histogram = new long[5];
+
+        private long ratings() {
+            long count = 0;
+            for (long n : histogram) {
+                count += n;
+            }
+            return count;
+        }
+
+        private long ratingSum() {
+            long sum = 0;
+            for (int i = 0; i < histogram.length; i++) {
+                sum += (i + 1) * histogram[i];
+            }
+            return sum;
+        }
+
+        private boolean isZero() {
+            return comments == 0 && views == 0 && Arrays.stream(histogram).allMatch(n -> n == 0);
+        }
+
+        private boolean isViewsOnly() {
+            return comments == 0 && Arrays.stream(histogram).allMatch(n -> n == 0);
+        }
+
+        private Delta plus(Delta other) {
+            comments += other.comments;
+            views += other.views;
+            for (int i = 0; i < histogram.length; i++) {
+                histogram[i] += other.histogram[i];
+            }
+            return this;
+        }
+    }
+}
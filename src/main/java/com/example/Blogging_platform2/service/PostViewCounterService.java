@@ -0,0 +1,249 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.dao.PostViewCountDao;
+import com.example.Blogging_platform2.dto.DailyViewCountDto;
+import com.example.Blogging_platform2.model.PostViewCount;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Pre-aggregated view counters. Increments land in {@link LongAdder}s keyed by post and day and
+ * are periodically upserted into {@code post_view_counts}; adjustments for days before yesterday
+ * are written through. Reads combine the persisted total (cached briefly after a lookup against
+ * the rollup table) with the not-yet-flushed delta, so they never touch {@code post_views}.
+ */
+@Service
+public class PostViewCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostViewCounterService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO post_view_counts (post_id, view_date, view_count) VALUES (?, ?, ?) " +
+            "ON CONFLICT (post_id, view_date) DO UPDATE SET view_count = post_view_counts.view_count + EXCLUDED.view_count";
+
+    // DO NOTHING: another node starting at the same time may have filled the same days
+    private static final String BACKFILL_SQL =
+            "INSERT INTO post_view_counts (post_id, view_date, view_count) " +
+            "SELECT post_id, viewed_at::date, count(*) FROM post_views WHERE viewed_at IS NOT NULL " +
+            "GROUP BY 1, 2 ON CONFLICT DO NOTHING";
+
+    private final PostViewCountDao postViewCountDao;
+    private final JdbcTemplate jdbcTemplate;
+    private final PostStatsService postStatsService;
+
+    // Deltas not yet written to post_view_counts, only for today and yesterday
+    private final ConcurrentHashMap<DayKey, LongAdder> pendingDaily = new ConcurrentHashMap<>();
+
+    // Totals already persisted in post_view_counts, loaded lazily per post. This node adds its own
+    // flushes; the expiry picks up what other nodes flushed
+    private final Cache<Long, AtomicLong> persistedTotals;
+
+    // Guards loading persisted totals against a concurrent flush adding the same delta twice.
+    // A lock rather than synchronized: it is held across JDBC calls, which would pin a virtual thread
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    public PostViewCounterService(PostViewCountDao postViewCountDao,
+                                  JdbcTemplate jdbcTemplate,
+                                  PostStatsService postStatsService,
+                                  @Value("${blog.views.counters.max-cached-posts:100000}") long maxCachedPosts,
+                                  @Value("${blog.views.counters.persisted-total-ttl-ms:30000}") long persistedTotalTtlMs) {
+        this.postViewCountDao = postViewCountDao;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postStatsService = postStatsService;
+        this.persistedTotals = Caffeine.newBuilder()
+                .maximumSize(maxCachedPosts)
+                .expireAfterWrite(Duration.ofMillis(persistedTotalTtlMs))
+                .build();
+    }
+
+    public void recordView(Long postId, LocalDate day) {
+        addDelta(postId, day, 1);
+    }
+
+    public void removeView(Long postId, LocalDate day) {
+        addDelta(postId, day, -1);
+    }
+
+    // Inside a transaction the counter only moves once the row is actually committed
+    public void recordViewAfterCommit(Long postId, LocalDate day) {
+        runAfterCommit(() -> recordView(postId, day));
+    }
+
+    public void removeViewAfterCommit(Long postId, LocalDate day) {
+        runAfterCommit(() -> removeView(postId, day));
+    }
+
+    public long getTotalViews(Long postId) {
+        AtomicLong persisted = persistedTotals.getIfPresent(postId);
+        if (persisted == null) {
+            flushLock.lock();
+            try {
+                persisted = persistedTotals.get(postId, id -> new AtomicLong(postViewCountDao.sumViewsByPostId(id)));
+            } finally {
+                flushLock.unlock();
+            }
+        }
+        LocalDate today = LocalDate.now();
+        return persisted.get() + pendingFor(postId, today) + pendingFor(postId, today.minusDays(1));
+    }
+
+    public List<DailyViewCountDto> getDailyViews(Long postId, LocalDate from, LocalDate to) {
+        Map<LocalDate, Long> byDay = new TreeMap<>();
+        for (PostViewCount row : postViewCountDao.findByIdPostIdAndIdViewDateBetweenOrderByIdViewDateAsc(postId, from, to)) {
+            byDay.put(row.getId().getViewDate(), row.getViewCount());
+        }
+        LocalDate today = LocalDate.now();
+        for (LocalDate day : List.of(today.minusDays(1), today)) {
+            long pending = pendingFor(postId, day);
+            if (pending != 0 && !day.isBefore(from) && !day.isAfter(to)) {
+                byDay.merge(day, pending, Long::sum);
+            }
+        }
+
+        List<DailyViewCountDto> series = new ArrayList<>(byDay.size());
+        byDay.forEach((day, views) -> series.add(new DailyViewCountDto(day, views)));
+        return series;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.views.counters.flush-interval-ms:5000}")
+    public void flush() {
+        List<Object[]> rows = new ArrayList<>();
+        List<DayKey> keys = new ArrayList<>();
+        List<Long> deltas = new ArrayList<>();
+
+        pendingDaily.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                rows.add(new Object[]{key.postId(), Date.valueOf(key.day()), delta});
+                keys.add(key);
+                deltas.add(delta);
+            }
+        });
+        if (rows.isEmpty()) {
+            evictIdleDays();
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            try {
+                jdbcTemplate.batchUpdate(UPSERT_SQL, rows);
+            } catch (DataAccessException e) {
+                // Put the deltas back so the next run retries them
+                for (int i = 0; i < keys.size(); i++) {
+                    pendingDaily.computeIfAbsent(keys.get(i), k -> new LongAdder()).add(deltas.get(i));
+                }
+                logger.warn("Flushing {} view counter rows failed, will retry: {}", rows.size(), e.getMessage());
+                return;
+            }
+
+            for (int i = 0; i < keys.size(); i++) {
+                Long postId = keys.get(i).postId();
+                long delta = deltas.get(i);
+                persistedTotals.asMap().computeIfPresent(postId, (id, total) -> {
+                    total.addAndGet(delta);
+                    return total;
+                });
+            }
+        } finally {
+            flushLock.unlock();
+        }
+        evictIdleDays();
+        logger.debug("Flushed {} view counter rows", rows.size());
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    // The rollup only counts views recorded since it was introduced; fill it once from post_views
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillIfEmpty() {
+        flushLock.lock();
+        try {
+            Boolean empty = jdbcTemplate.queryForObject(
+                    "SELECT NOT EXISTS (SELECT 1 FROM post_view_counts) AND EXISTS (SELECT 1 FROM post_views)", Boolean.class);
+            if (!Boolean.TRUE.equals(empty)) {
+                return;
+            }
+            // Views counted so far are already committed to post_views, so the backfill includes them
+            pendingDaily.values().forEach(LongAdder::reset);
+            int rows = jdbcTemplate.update(BACKFILL_SQL);
+            persistedTotals.invalidateAll();
+            logger.info("Backfilled {} post_view_counts rows from post_views", rows);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private void addDelta(Long postId, LocalDate day, long delta) {
+        postStatsService.addViews(postId, delta);
+        if (day.isBefore(LocalDate.now().minusDays(1))) {
+            // Only deletes of old views land here; write them through instead of keeping adders alive
+            flushLock.lock();
+            try {
+                jdbcTemplate.update(UPSERT_SQL, postId, Date.valueOf(day), delta);
+                persistedTotals.asMap().computeIfPresent(postId, (id, total) -> {
+                    total.addAndGet(delta);
+                    return total;
+                });
+            } finally {
+                flushLock.unlock();
+            }
+            return;
+        }
+        pendingDaily.computeIfAbsent(new DayKey(postId, day), k -> new LongAdder()).add(delta);
+    }
+
+    private long pendingFor(Long postId, LocalDate day) {
+        LongAdder adder = pendingDaily.get(new DayKey(postId, day));
+        return adder != null ? adder.sum() : 0;
+    }
+
+    // Nothing writes to adders older than yesterday any more, so flushed ones can be dropped
+    private void evictIdleDays() {
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        pendingDaily.entrySet().removeIf(e -> e.getKey().day().isBefore(yesterday) && e.getValue().sum() == 0);
+    }
+
+    private void runAfterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private record DayKey(Long postId, LocalDate day) {
+    }
+}
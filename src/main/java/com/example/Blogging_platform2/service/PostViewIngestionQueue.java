@@ -0,0 +1,258 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.event.PostEngagementEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write-behind buffer for post views. Views are accepted into a bounded queue and a single
+ * background thread writes them to {@code post_views} with JDBC batch inserts, flushing when
+ * a batch is full or when the flush interval elapses, whichever comes first.
+ */
+@Component
+public class PostViewIngestionQueue implements SmartLifecycle {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostViewIngestionQueue.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO post_views (post_id, user_id, viewed_at) VALUES (?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PostViewCounterService counterService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
+    private final BlockingQueue<PendingView> queue;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long drainTimeoutMs;
+
+    private final Timer flushTimer;
+    private final Counter persistedCounter;
+    private final Counter droppedQueueFullCounter;
+    private final Counter droppedNotRunningCounter;
+    private final Counter droppedWriteFailedCounter;
+
+    private volatile boolean running;
+    private Thread flusher;
+
+    public PostViewIngestionQueue(JdbcTemplate jdbcTemplate,
+                                  PostViewCounterService counterService,
+                                  ApplicationEventPublisher eventPublisher,
+                                  CacheManager cacheManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${blog.views.ingestion.async-enabled:false}") boolean enabled,
+                                  @Value("${blog.views.ingestion.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${blog.views.ingestion.batch-size:500}") int batchSize,
+                                  @Value("${blog.views.ingestion.flush-interval-ms:200}") long flushIntervalMs,
+                                  @Value("${blog.views.ingestion.offer-timeout-ms:50}") long offerTimeoutMs,
+                                  @Value("${blog.views.ingestion.drain-timeout-ms:10000}") long drainTimeoutMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.counterService = counterService;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.drainTimeoutMs = drainTimeoutMs;
+
+        meterRegistry.gauge("blog.views.ingestion.queue.depth", queue, BlockingQueue::size);
+        this.flushTimer = Timer.builder("blog.views.ingestion.flush")
+                .description("Time taken to write one batch of post views")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        this.persistedCounter = meterRegistry.counter("blog.views.ingestion.persisted");
+        this.droppedQueueFullCounter = meterRegistry.counter("blog.views.ingestion.dropped", "reason", "queue_full");
+        this.droppedNotRunningCounter = meterRegistry.counter("blog.views.ingestion.dropped", "reason", "not_running");
+        this.droppedWriteFailedCounter = meterRegistry.counter("blog.views.ingestion.dropped", "reason", "write_failed");
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Returns false when the queue stayed full for the whole offer timeout (backpressure), or
+    // before start and after shutdown began
+    public boolean enqueue(Long postId, Long userId, LocalDateTime viewedAt) {
+        if (!running) {
+            droppedNotRunningCounter.increment();
+            return false;
+        }
+        boolean accepted;
+        try {
+            accepted = queue.offer(new PendingView(postId, userId, viewedAt), offerTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            accepted = false;
+        }
+        if (!accepted) {
+            droppedQueueFullCounter.increment();
+        }
+        return accepted;
+    }
+
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled || running) {
+            return;
+        }
+        running = true;
+        flusher = new Thread(this::runFlushLoop, "post-view-flusher");
+        flusher.setDaemon(true);
+        flusher.start();
+        logger.info("Post view async ingestion started (batchSize={}, flushIntervalMs={})", batchSize, flushIntervalMs);
+    }
+
+    @Override
+    public void stop() {
+        if (!running) {
+            return;
+        }
+        // The flush loop keeps going until the queue is empty once running is cleared
+        running = false;
+        try {
+            flusher.join(drainTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (flusher.isAlive()) {
+            logger.warn("Post view flusher did not drain within {} ms, {} views left in queue",
+                    drainTimeoutMs, queue.size());
+        } else {
+            logger.info("Post view async ingestion stopped, queue drained");
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void runFlushLoop() {
+        List<PendingView> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collectBatch(batch);
+            } catch (InterruptedException e) {
+                // Shutdown is driven by the running flag, keep draining
+                Thread.interrupted();
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Blocks for the first view, then keeps collecting until the batch is full or the interval is up
+    private void collectBatch(List<PendingView> batch) throws InterruptedException {
+        PendingView first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        while (batch.size() < batchSize) {
+            queue.drainTo(batch, batchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= batchSize || remaining <= 0 || !running) {
+                return;
+            }
+            PendingView next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingView> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, view) -> {
+                ps.setLong(1, view.postId());
+                if (view.userId() != null) {
+                    ps.setLong(2, view.userId());
+                } else {
+                    ps.setNull(2, Types.BIGINT);
+                }
+                ps.setTimestamp(3, Timestamp.valueOf(view.viewedAt()));
+            });
+            persistedCounter.increment(batch.size());
+            batch.forEach(this::recordPersisted);
+            evictViewLists(batch);
+        } catch (DataAccessException e) {
+            // One bad row (e.g. a deleted post) fails the whole batch, so fall back to row-by-row
+            logger.warn("Batch insert of {} post views failed, retrying individually: {}", batch.size(), e.getMessage());
+            flushIndividually(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void flushIndividually(List<PendingView> batch) {
+        List<PendingView> persisted = new ArrayList<>(batch.size());
+        for (PendingView view : batch) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, view.postId(), view.userId(), Timestamp.valueOf(view.viewedAt()));
+                persistedCounter.increment();
+                recordPersisted(view);
+                persisted.add(view);
+            } catch (DataAccessException e) {
+                droppedWriteFailedCounter.increment();
+                logger.debug("Dropping post view for post {}: {}", view.postId(), e.getMessage());
+            }
+        }
+        evictViewLists(persisted);
+    }
+
+    // Same eviction as the synchronous PostViewService.savePostView, once per post in the batch
+    private void evictViewLists(List<PendingView> persisted) {
+        Cache viewsByPost = cacheManager.getCache(CacheNames.POST_VIEWS_BY_POST);
+        if (viewsByPost == null) {
+            return;
+        }
+        Set<Long> postIds = new LinkedHashSet<>();
+        persisted.forEach(view -> postIds.add(view.postId()));
+        postIds.forEach(viewsByPost::evict);
+    }
+
+    // No transaction on the flusher thread, so listeners see the event right away
+    private void recordPersisted(PendingView view) {
+        counterService.recordView(view.postId(), view.viewedAt().toLocalDate());
+        eventPublisher.publishEvent(new PostEngagementEvent(view.postId(), PostEngagementEvent.Kind.VIEW));
+    }
+
+    record PendingView(Long postId, Long userId, LocalDateTime viewedAt) {
+    }
+}
@@ -1,13 +1,23 @@
 package com.example.Blogging_platform2.service;
+import com.example.Blogging_platform2.cache.CacheNames;
 import com.example.Blogging_platform2.dao.PostViewDao;
+import com.example.Blogging_platform2.dto.DailyViewCountDto;
+import com.example.Blogging_platform2.event.PostEngagementEvent;
 import com.example.Blogging_platform2.exception.PostViewNotFoundException;
+import com.example.Blogging_platform2.exception.ServiceOverloadedException;
 import com.example.Blogging_platform2.model.PostView;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,58 +25,114 @@ import java.util.Optional;
 public class PostViewService {
 
     private final PostViewDao postViewDao;
+    private final PostViewIngestionQueue ingestionQueue;
+    private final PostViewCounterService counterService;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public PostViewService(PostViewDao postViewDao) {
+    public PostViewService(PostViewDao postViewDao,
+                           PostViewIngestionQueue ingestionQueue,
+                           PostViewCounterService counterService,
+                           CacheManager cacheManager,
+                           ApplicationEventPublisher eventPublisher) {
         this.postViewDao = postViewDao;
+        this.ingestionQueue = ingestionQueue;
+        this.counterService = counterService;
+        this.cacheManager = cacheManager;
+        this.eventPublisher = eventPublisher;
+    }
+
+    public boolean isAsyncIngestionEnabled() {
+        return ingestionQueue.isEnabled();
+    }
+
+    // Async mode: the view is buffered and written later in a JDBC batch, so no id is assigned yet.
+    // Keeps the client's timestamp like the synchronous path, so daily counts land on the same day
+    public void enqueueView(Long postId, Long userId, LocalDateTime viewedAt) {
+        if (!ingestionQueue.enqueue(postId, userId, viewedAt != null ? viewedAt : LocalDateTime.now())) {
+            throw new ServiceOverloadedException("View ingestion queue is full, please retry");
+        }
     }
 
     @Transactional
-    @CachePut(value = "postViews", key = "#result.id")
+    @Caching(put = @CachePut(value = CacheNames.POST_VIEWS, key = "#result.id"),
+             evict = @CacheEvict(value = CacheNames.POST_VIEWS_BY_POST, key = "#result.post.id"))
     public PostView savePostView(PostView view) {
-        return postViewDao.save(view);
+        PostView saved = postViewDao.save(view);
+        counterService.recordViewAfterCommit(saved.getPost().getId(), viewDay(saved));
+        eventPublisher.publishEvent(new PostEngagementEvent(saved.getPost().getId(), PostEngagementEvent.Kind.VIEW));
+        return saved;
+    }
+
+    // O(1): served from the in-memory counters and the post_view_counts rollup
+    public long getViewCount(Long postId) {
+        return counterService.getTotalViews(postId);
+    }
+
+    public List<DailyViewCountDto> getDailyViewCounts(Long postId, LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("'from' must not be after 'to'");
+        }
+        if (from.plusDays(366).isBefore(to)) {
+            throw new IllegalArgumentException("Time series range is limited to 366 days");
+        }
+        return counterService.getDailyViews(postId, from, to);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "postViews", key = "#postId")
+    @Cacheable(value = CacheNames.POST_VIEWS_BY_POST, key = "#postId")
     public List<PostView> getViewsByPost(Long postId) {
         return postViewDao.findAllByPostId(postId);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "postViews", key = "#id")
+    @Cacheable(value = CacheNames.POST_VIEWS, key = "#id", unless = "#result == null")
     public Optional<PostView> getPostViewById(Long id) {
         return postViewDao.findById(id);
     }
 
     @Transactional
-    @CacheEvict(value = "postViews", key = "#id")
+    @CacheEvict(value = CacheNames.POST_VIEWS, key = "#id")
     public void deletePostView(Long id) {
-        if (!postViewDao.existsById(id)) {
-            throw new PostViewNotFoundException("View with ID " + id + " not found");
-        }
-        postViewDao.deleteById(id);
+        PostView view = postViewDao.findById(id)
+                .orElseThrow(() -> new PostViewNotFoundException("View with ID " + id + " not found"));
+        postViewDao.delete(view);
+        evict(CacheNames.POST_VIEWS_BY_POST, view.getPost().getId());
+        counterService.removeViewAfterCommit(view.getPost().getId(), viewDay(view));
     }
 
     @Transactional
-    @CachePut(value = "postViews", key = "#result.id")
+    @Caching(put = @CachePut(value = CacheNames.POST_VIEWS, key = "#result.id"),
+             evict = @CacheEvict(value = CacheNames.POST_VIEWS_BY_POST, key = "#result.post.id"))
     public PostView createView(PostView view) {
-        return postViewDao.save(view);
+        PostView saved = postViewDao.save(view);
+        counterService.recordViewAfterCommit(saved.getPost().getId(), viewDay(saved));
+        eventPublisher.publishEvent(new PostEngagementEvent(saved.getPost().getId(), PostEngagementEvent.Kind.VIEW));
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "postViews", key = "#id")
+    @Cacheable(value = CacheNames.POST_VIEWS, key = "#id")
     public PostView getView(Long id) {
         return postViewDao.findById(id)
                 .orElseThrow(() -> new PostViewNotFoundException("View with ID " + id + " not found"));
     }
 
     @Transactional
-    @CacheEvict(value = "postViews", key = "#id")
+    @CacheEvict(value = CacheNames.POST_VIEWS, key = "#id")
     public Boolean deleteView(Long id) {
-        if (!postViewDao.existsById(id)) {
-            throw new PostViewNotFoundException("View with ID " + id + " not found");
-        }
-        postViewDao.deleteById(id);
+        deletePostView(id);
         return true;
     }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private LocalDate viewDay(PostView view) {
+        return view.getViewedAt() != null ? view.getViewedAt().toLocalDate() : LocalDate.now();
+    }
 }
@@ -1,52 +1,127 @@
 package com.example.Blogging_platform2.service;
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.dao.PostStatsDao;
+import com.example.Blogging_platform2.dto.RatingSummaryDto;
+import com.example.Blogging_platform2.dto.TopRatedPost;
+import com.example.Blogging_platform2.event.PostEngagementEvent;
 import com.example.Blogging_platform2.model.Review;
 import com.example.Blogging_platform2.dao.ReviewDao;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Service
 public class ReviewService {
+    public static final int MAX_LEADERBOARD_SIZE = 100;
+
     private final ReviewDao reviewDao;
+    private final PostStatsDao postStatsDao;
+    private final CacheManager cacheManager;
+    private final PostStatsService postStatsService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public ReviewService(ReviewDao reviewDao) {
+    public ReviewService(ReviewDao reviewDao, PostStatsDao postStatsDao, CacheManager cacheManager,
+                         PostStatsService postStatsService, ApplicationEventPublisher eventPublisher) {
         this.reviewDao = reviewDao;
+        this.postStatsDao = postStatsDao;
+        this.cacheManager = cacheManager;
+        this.postStatsService = postStatsService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Transactional
-    @CachePut(value = "reviews", key = "#result.id")
+    @Caching(put = @CachePut(value = CacheNames.REVIEWS, key = "#result.id"),
+             evict = {
+                     @CacheEvict(value = CacheNames.REVIEWS_BY_POST, key = "#review.post.id"),
+                     @CacheEvict(value = CacheNames.REVIEW_LISTS, allEntries = true)
+             })
     public Review saveReview(Review review) {
-        return reviewDao.save(review);
+        // Saving an existing review replaces its rating instead of adding one
+        if (review.getRating() == null || review.getRating() < 1 || review.getRating() > 5) {
+            throw new IllegalArgumentException("Rating must be between 1 and 5");
+        }
+        Integer previousRating = review.getId() == null ? null
+                : reviewDao.findById(review.getId()).map(Review::getRating).orElse(null);
+        Review saved = reviewDao.save(review);
+        if (previousRating != null) {
+            postStatsService.addRatingAfterCommit(saved.getPost().getId(), previousRating, -1);
+        } else {
+            // Only a new review is fresh engagement; re-rating is not
+            eventPublisher.publishEvent(new PostEngagementEvent(saved.getPost().getId(), PostEngagementEvent.Kind.REVIEW));
+        }
+        postStatsService.addRatingAfterCommit(saved.getPost().getId(), saved.getRating(), 1);
+        return saved;
     }
 
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "reviews", key = "#id")
+    // sync does not allow "unless", so a missing id is cached as empty until a review is saved under it
+    @Cacheable(value = CacheNames.REVIEWS, key = "#id", sync = true)
     public Optional<Review> getReviewById(Long id) {
         return reviewDao.findById(id);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "reviews", key = "'all'")
+    @Cacheable(value = CacheNames.REVIEW_LISTS, key = "'all'")
     public List<Review> getAllReviews() {
         return reviewDao.findAll();
     }
 
     @Transactional
-    @CacheEvict(value = "reviews", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.REVIEWS, key = "#id"),
+            @CacheEvict(value = CacheNames.REVIEW_LISTS, allEntries = true)
+    })
     public void deleteReview(Long id) {
-        reviewDao.deleteById(id);
+        reviewDao.findById(id).ifPresent(review -> {
+            reviewDao.delete(review);
+            evict(CacheNames.REVIEWS_BY_POST, review.getPost().getId());
+            postStatsService.addRatingAfterCommit(review.getPost().getId(), review.getRating(), -1);
+        });
     }
 
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "reviews", key = "#postId")
+    @Cacheable(value = CacheNames.REVIEWS_BY_POST, key = "#postId", sync = true)
     public List<Review> getReviewsByPost(Long postId) {
         return reviewDao.findAllByPostId(postId);
     }
+
+    // One primary key read of the post_stats row instead of loading every review
+    @Transactional(readOnly = true)
+    public RatingSummaryDto getRatingSummary(Long postId) {
+        return postStatsDao.findById(postId)
+                .map(RatingSummaryDto::from)
+                .orElseGet(() -> RatingSummaryDto.empty(postId));
+    }
+
+    @Transactional(readOnly = true)
+    public List<RatingSummaryDto> getRatingSummaries(Collection<Long> postIds) {
+        return postStatsDao.findAllById(postIds).stream()
+                .map(RatingSummaryDto::from)
+                .toList();
+    }
+
+    // Not cached: an index range scan of at most MAX_LEADERBOARD_SIZE rows, and scores move with every flush
+    @Transactional(readOnly = true)
+    public List<TopRatedPost> getTopRatedPosts(int limit, int minReviews) {
+        return postStatsDao.findTopRated(Math.max(minReviews, 1), Math.max(1, Math.min(limit, MAX_LEADERBOARD_SIZE)));
+    }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
 }
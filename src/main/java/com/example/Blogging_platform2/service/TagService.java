@@ -1,50 +1,95 @@
 package com.example.Blogging_platform2.service;
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.dao.PostDao;
 import com.example.Blogging_platform2.model.Tag;
 import com.example.Blogging_platform2.dao.TagDao;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @Service
 public class TagService {
     private final TagDao tagDao;
+    private final PostDao postDao;
 
-    public TagService(TagDao tagDao) {
+    public TagService(TagDao tagDao, PostDao postDao) {
         this.tagDao = tagDao;
+        this.postDao = postDao;
     }
 
+    // Tag names are part of each tagged post's search_vector, so a rename rewrites those vectors
     @Transactional
-    @CachePut(value = "tags", key = "#result.id")
+    @Caching(put = @CachePut(value = CacheNames.TAGS, key = "#result.id"),
+             evict = {
+                     @CacheEvict(value = CacheNames.TAGS_BY_NAME, key = "#result.name"),
+                     @CacheEvict(value = CacheNames.TAG_LISTS, allEntries = true),
+                     @CacheEvict(value = CacheNames.POST_SEARCH, allEntries = true)
+             })
     public Tag saveTag(Tag tag) {
-        return tagDao.save(tag);
+        boolean existing = tag.getId() != null;
+        Tag saved = tagDao.saveAndFlush(tag);
+        if (existing) {
+            refreshSearchVectors(tagDao.findPostIdsByTagId(saved.getId()));
+        }
+        return saved;
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "tags", key = "#id")
+    @Cacheable(value = CacheNames.TAGS, key = "#id", unless = "#result == null")
     public Optional<Tag> getTagById(Long id) {
         return tagDao.findById(id);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "tags", key = "#name")
+    @Cacheable(value = CacheNames.TAGS_BY_NAME, key = "#name", unless = "#result == null")
     public Optional<Tag> getTagByName(String name) {
         return tagDao.findByName(name);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "tags")
+    @Cacheable(value = CacheNames.TAG_LISTS, key = "'all'")
     public List<Tag> getAllTags() {
         return tagDao.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Map<Long, List<Tag>> getTagsByPostIds(Collection<Long> postIds) {
+        Map<Long, List<Tag>> tagsByPost = new HashMap<>();
+        for (Object[] row : tagDao.findTagsByPostIds(postIds)) {
+            tagsByPost.computeIfAbsent((Long) row[0], id -> new ArrayList<>()).add((Tag) row[1]);
+        }
+        return tagsByPost;
+    }
+
+    // The name is not known here, so the by-name region is cleared as a whole (tags change rarely).
+    // The tagged posts are read first: their post_tags rows go with the tag
     @Transactional
-    @CacheEvict(value = "tags", key = "#id")
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.TAGS, key = "#id"),
+            @CacheEvict(value = CacheNames.TAGS_BY_NAME, allEntries = true),
+            @CacheEvict(value = CacheNames.TAG_LISTS, allEntries = true),
+            @CacheEvict(value = CacheNames.POST_SEARCH, allEntries = true)
+    })
     public void deleteTag(Long id) {
+        List<Long> postIds = tagDao.findPostIdsByTagId(id);
         tagDao.deleteById(id);
+        tagDao.flush();
+        refreshSearchVectors(postIds);
+    }
+
+    private void refreshSearchVectors(List<Long> postIds) {
+        if (!postIds.isEmpty()) {
+            postDao.refreshSearchVectors(postIds);
+        }
     }
 }
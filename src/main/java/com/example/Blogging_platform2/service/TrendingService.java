@@ -0,0 +1,195 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.dto.TrendingPostDto;
+import com.example.Blogging_platform2.event.PostDeletedEvent;
+import com.example.Blogging_platform2.event.PostEngagementEvent;
+import com.example.Blogging_platform2.trending.TrendingProperties;
+import com.example.Blogging_platform2.trending.TrendingScoreBoard;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Trending posts. Views, comments and reviews arrive as {@link PostEngagementEvent}s once their
+ * transaction commits and are scored with time decay in a {@link TrendingScoreBoard}. The top of
+ * the board is recomputed every second into an immutable list, so reads never touch the database
+ * or the board.
+ * <p>
+ * {@code trending_scores} holds the cluster-wide scores. Every minute each node merges in the
+ * engagement it received since its last snapshot (decaying the stored score to the new time and
+ * adding its own), then rebuilds its board from the table plus what it has not saved yet. Every
+ * node therefore serves the same list, give or take the last minute of other nodes' engagement,
+ * and a restarted node starts from the whole cluster's scores.
+ */
+@Service
+public class TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingService.class);
+
+    // Stored rows hold the score as of scored_at; whichever side is older is decayed to the newer
+    // one's time, so nodes with slightly different clocks still add up. Rows of deleted posts are skipped
+    private static final String MERGE_SQL =
+            "INSERT INTO trending_scores (post_id, score, scored_at) " +
+            "SELECT ?, ?, ? WHERE EXISTS (SELECT 1 FROM posts WHERE id = ?) " +
+            "ON CONFLICT (post_id) DO UPDATE SET score = CASE " +
+            "WHEN EXCLUDED.scored_at >= trending_scores.scored_at THEN EXCLUDED.score + trending_scores.score * " +
+            "exp(-? * CAST(EXTRACT(EPOCH FROM EXCLUDED.scored_at - trending_scores.scored_at) AS float8)) " +
+            "ELSE trending_scores.score + EXCLUDED.score * " +
+            "exp(-? * CAST(EXTRACT(EPOCH FROM trending_scores.scored_at - EXCLUDED.scored_at) AS float8)) END, " +
+            "scored_at = GREATEST(trending_scores.scored_at, EXCLUDED.scored_at)";
+
+    private static final String CURRENT_SCORE =
+            "score * exp(-? * CAST(EXTRACT(EPOCH FROM ? - scored_at) AS float8))";
+
+    // Scores below this (a hundredth of a view) no longer matter and are dropped, as are deleted posts
+    private static final double MIN_SCORE = 0.01;
+
+    private static final String PRUNE_SQL =
+            "DELETE FROM trending_scores t WHERE " + CURRENT_SCORE + " < ? " +
+            "OR NOT EXISTS (SELECT 1 FROM posts p WHERE p.id = t.post_id)";
+
+    private static final String LOAD_SQL =
+            "SELECT post_id, " + CURRENT_SCORE + " AS current_score FROM trending_scores " +
+            "ORDER BY current_score DESC LIMIT ?";
+
+    private final TrendingProperties properties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final double decayPerSecond;
+
+    // What is served: the cluster-wide scores as of the last snapshot plus this node's engagement since
+    private volatile TrendingScoreBoard board;
+    // This node's engagement not yet merged into trending_scores
+    private final TrendingScoreBoard unsaved;
+    // Keeps the scheduled snapshot and the shutdown one from draining concurrently
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private volatile List<TrendingPostDto> trending = List.of();
+
+    public TrendingService(TrendingProperties properties,
+                           JdbcTemplate jdbcTemplate,
+                           PlatformTransactionManager transactionManager,
+                           MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.decayPerSecond = Math.log(2) / properties.getHalfLife().toMillis() * 1000;
+        this.board = newBoard();
+        this.unsaved = newBoard();
+        meterRegistry.gauge("blog.trending.tracked.posts", this, service -> service.board.size());
+    }
+
+    // Runs after the write commits; fallbackExecution covers the view ingestion queue, which has no transaction
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEngagement(PostEngagementEvent event) {
+        double weight = properties.weightOf(event.kind());
+        board.record(event.postId(), weight);
+        unsaved.record(event.postId(), weight);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onPostDeleted(PostDeletedEvent event) {
+        board.remove(event.postId());
+        unsaved.remove(event.postId());
+        trending = trending.stream().filter(post -> !post.postId().equals(event.postId())).toList();
+    }
+
+    // Served from memory; at most a second behind the board
+    public List<TrendingPostDto> getTrending(int limit) {
+        if (limit < 1) {
+            throw new IllegalArgumentException("limit must be at least 1");
+        }
+        List<TrendingPostDto> current = trending;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    @Scheduled(fixedDelayString = "${blog.trending.refresh-interval-ms:1000}")
+    public void refresh() {
+        trending = board.top(properties.getTopSize());
+    }
+
+    @Scheduled(fixedDelayString = "${blog.trending.snapshot-interval-ms:60000}",
+               initialDelayString = "${blog.trending.snapshot-interval-ms:60000}")
+    public void snapshot() {
+        if (merge()) {
+            reload();
+        }
+    }
+
+    @PreDestroy
+    public void snapshotOnShutdown() {
+        merge();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void restore() {
+        reload();
+        logger.info("Restored {} trending scores", board.size());
+    }
+
+    // Adds the unsaved engagement to trending_scores in one transaction; on failure it stays unsaved
+    private boolean merge() {
+        snapshotLock.lock();
+        try {
+            List<TrendingPostDto> drained = unsaved.drain();
+            long nowMillis = System.currentTimeMillis();
+            Timestamp now = new Timestamp(nowMillis);
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    jdbcTemplate.batchUpdate(MERGE_SQL, drained, 500, (ps, post) -> {
+                        ps.setLong(1, post.postId());
+                        ps.setDouble(2, post.score());
+                        ps.setTimestamp(3, now);
+                        ps.setLong(4, post.postId());
+                        ps.setDouble(5, decayPerSecond);
+                        ps.setDouble(6, decayPerSecond);
+                    });
+                    jdbcTemplate.update(PRUNE_SQL, decayPerSecond, now, MIN_SCORE);
+                });
+                return true;
+            } catch (DataAccessException e) {
+                drained.forEach(post -> unsaved.record(post.postId(), post.score(), nowMillis));
+                logger.warn("Could not merge {} trending scores, will retry: {}", drained.size(), e.getMessage());
+                return false;
+            }
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    // Engagement recorded while the new board is filled only reaches it through the next snapshot
+    private void reload() {
+        long nowMillis = System.currentTimeMillis();
+        TrendingScoreBoard fresh = newBoard();
+        try {
+            jdbcTemplate.query(LOAD_SQL, rs -> {
+                fresh.record(rs.getLong("post_id"), rs.getDouble("current_score"), nowMillis);
+            }, decayPerSecond, new Timestamp(nowMillis), properties.getMaxTrackedPosts());
+        } catch (DataAccessException e) {
+            logger.warn("Could not load trending scores, keeping the current ones: {}", e.getMessage());
+            return;
+        }
+        unsaved.top(properties.getMaxTrackedPosts())
+                .forEach(post -> fresh.record(post.postId(), post.score(), nowMillis));
+        board = fresh;
+        refresh();
+    }
+
+    private TrendingScoreBoard newBoard() {
+        return new TrendingScoreBoard(properties.getHalfLife(), properties.getMaxTrackedPosts(), System::currentTimeMillis);
+    }
+}
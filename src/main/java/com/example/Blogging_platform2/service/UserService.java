@@ -1,12 +1,20 @@
 package com.example.Blogging_platform2.service;
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.dto.UserSummary;
+import com.example.Blogging_platform2.event.UserSecurityChangedEvent;
 import com.example.Blogging_platform2.model.User;
 import com.example.Blogging_platform2.dao.UserDao;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.CachePut;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,36 +23,69 @@ import java.util.Optional;
 public class UserService {
 
     private final UserDao userDao;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CacheManager cacheManager;
 
-    public UserService(UserDao userDao) {
+    public UserService(UserDao userDao, ApplicationEventPublisher eventPublisher, CacheManager cacheManager) {
         this.userDao = userDao;
+        this.eventPublisher = eventPublisher;
+        this.cacheManager = cacheManager;
     }
 
-    @CachePut(value = "users", key = "#result.id")
-    public User registerUser(User user) {
-        return userDao.save(user);
+    @Caching(put = @CachePut(value = CacheNames.USERS, key = "#result.id"),
+             evict = {
+                     @CacheEvict(value = CacheNames.USERS_BY_USERNAME, key = "#result.username"),
+                     @CacheEvict(value = CacheNames.USER_LISTS, allEntries = true)
+             })
+    public UserSummary registerUser(User user) {
+        boolean existing = user.getId() != null;
+        User saved = userDao.save(user);
+        if (existing) {
+            // Saving an existing user may change their roles; drop tokens that carry the old ones
+            eventPublisher.publishEvent(new UserSecurityChangedEvent(saved.getUsername()));
+        }
+        return UserSummary.from(saved);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "#username")
-    public Optional<User> findByUsername(String username) {
-        return userDao.findByUsername(username);
+    @Cacheable(value = CacheNames.USERS_BY_USERNAME, key = "#username", unless = "#result == null")
+    public Optional<UserSummary> findByUsername(String username) {
+        return userDao.findSummaryByUsername(username);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "#id")
-    public Optional<User> findById(Long id) {
-        return userDao.findById(id);
+    @Cacheable(value = CacheNames.USERS, key = "#id", unless = "#result == null")
+    public Optional<UserSummary> findById(Long id) {
+        return userDao.findSummaryById(id);
     }
 
     @Transactional(readOnly = true)
-    @Cacheable(value = "users", key = "'all'")
-    public List<User> findAll() {
-        return userDao.findAll();
+    @Cacheable(value = CacheNames.USER_LISTS, key = "'all'")
+    public List<UserSummary> findAll() {
+        return userDao.findAllSummaries();
     }
 
-    @CacheEvict(value = "users", key = "#id")
+    @Transactional(readOnly = true)
+    public List<UserSummary> findAllByIds(Collection<Long> ids) {
+        return userDao.findSummariesByIdIn(ids);
+    }
+
+    @Caching(evict = {
+            @CacheEvict(value = CacheNames.USERS, key = "#id"),
+            @CacheEvict(value = CacheNames.USER_LISTS, allEntries = true)
+    })
     public void deleteUser(Long id) {
+        userDao.findById(id).ifPresent(user -> {
+            eventPublisher.publishEvent(new UserSecurityChangedEvent(user.getUsername()));
+            evict(CacheNames.USERS_BY_USERNAME, user.getUsername());
+        });
         userDao.deleteById(id);
     }
+
+    private void evict(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
 }
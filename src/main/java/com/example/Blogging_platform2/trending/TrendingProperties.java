@@ -0,0 +1,38 @@
+package com.example.Blogging_platform2.trending;
+
+import com.example.Blogging_platform2.event.PostEngagementEvent;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Trending posts, bound from {@code blog.trending.*}. Weights are per engagement kind, e.g.
+ * {@code blog.trending.weights.comment=4}.
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.trending")
+public class TrendingProperties {
+
+    // A post's score halves after this long without new engagement
+    private Duration halfLife = Duration.ofHours(6);
+
+    // Posts scored in memory; past this the lower-scored half is dropped
+    private int maxTrackedPosts = 10000;
+
+    // Length of the precomputed list that reads are served from
+    private int topSize = 100;
+
+    private Map<PostEngagementEvent.Kind, Double> weights = new EnumMap<>(Map.of(
+            PostEngagementEvent.Kind.VIEW, 1.0,
+            PostEngagementEvent.Kind.COMMENT, 4.0,
+            PostEngagementEvent.Kind.REVIEW, 3.0));
+
+    public double weightOf(PostEngagementEvent.Kind kind) {
+        return weights.getOrDefault(kind, 0.0);
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.Blogging_platform2.trending;
+
+import com.example.Blogging_platform2.dto.TrendingPostDto;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponentially decayed engagement score per post, using forward decay: an event at time t adds
+ * {@code weight * e^(λ(t - landmark))}, so stored scores never need decaying, scores of different
+ * posts compare directly, and a post's current score is its stored score times
+ * {@code e^(-λ(now - landmark))}. Before the exponent grows large the landmark moves up to now and
+ * every score is rescaled. At most {@code capacity} posts are scored; once that fills up the
+ * lower-scored half is dropped, as in {@link com.example.Blogging_platform2.cache.HotKeyTracker}.
+ */
+public class TrendingScoreBoard {
+
+    // e^40 is about 2e17, far from overflowing a double; with a 6h half-life that is a rebase every ~2 weeks
+    private static final double MAX_EXPONENT = 40;
+
+    private static final Comparator<Scored> LOWEST_FIRST = Comparator.comparingDouble(Scored::score);
+
+    private final ConcurrentHashMap<Long, DoubleAdder> scores = new ConcurrentHashMap<>();
+    // Shared by recorders and readers; exclusive only while scores are rescaled or pruned
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final double lambdaPerMilli;
+    private final int capacity;
+    private final LongSupplier clock;
+    private volatile long landmark;
+
+    public TrendingScoreBoard(Duration halfLife, int capacity, LongSupplier clock) {
+        this.lambdaPerMilli = Math.log(2) / halfLife.toMillis();
+        this.capacity = Math.max(capacity, 2);
+        this.clock = clock;
+        this.landmark = clock.getAsLong();
+    }
+
+    public void record(Long postId, double weight) {
+        record(postId, weight, clock.getAsLong());
+    }
+
+    // Also restores a snapshot: a score s taken at time t counts exactly like an event of weight s at t
+    public void record(Long postId, double weight, long atMillis) {
+        if (lambdaPerMilli * (clock.getAsLong() - landmark) > MAX_EXPONENT) {
+            rebase();
+        }
+        if (!scores.containsKey(postId) && scores.size() >= capacity) {
+            prune();
+        }
+        lock.readLock().lock();
+        try {
+            scores.computeIfAbsent(postId, id -> new DoubleAdder())
+                    .add(weight * Math.exp(lambdaPerMilli * (atMillis - landmark)));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Current scores of every post, leaving the board empty; nothing recorded meanwhile is lost
+    public List<TrendingPostDto> drain() {
+        lock.writeLock().lock();
+        try {
+            double decay = Math.exp(-lambdaPerMilli * (clock.getAsLong() - landmark));
+            List<TrendingPostDto> drained = new ArrayList<>(scores.size());
+            scores.forEach((postId, score) -> drained.add(new TrendingPostDto(postId, score.sum() * decay)));
+            scores.clear();
+            return drained;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long postId) {
+        scores.remove(postId);
+    }
+
+    public int size() {
+        return scores.size();
+    }
+
+    // Highest current score first
+    public List<TrendingPostDto> top(int limit) {
+        lock.readLock().lock();
+        try {
+            double decay = Math.exp(-lambdaPerMilli * (clock.getAsLong() - landmark));
+            return highest(limit).stream()
+                    .map(scored -> new TrendingPostDto(scored.postId(), scored.score() * decay))
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebase() {
+        lock.writeLock().lock();
+        try {
+            long now = clock.getAsLong();
+            if (lambdaPerMilli * (now - landmark) <= MAX_EXPONENT) {
+                return;
+            }
+            double decay = Math.exp(-lambdaPerMilli * (now - landmark));
+            scores.values().forEach(score -> {
+                double rescaled = score.sumThenReset() * decay;
+                score.add(rescaled);
+            });
+            landmark = now;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void prune() {
+        lock.writeLock().lock();
+        try {
+            if (scores.size() < capacity) {
+                return;
+            }
+            Set<Long> keep = new HashSet<>();
+            highest(capacity / 2).forEach(scored -> keep.add(scored.postId()));
+            scores.keySet().retainAll(keep);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Reads each score once, since recorders keep adding while this runs, and keeps the k highest in
+    // a min-heap of size k: O(n log k). Highest first
+    private List<Scored> highest(int k) {
+        if (k <= 0) {
+            return List.of();
+        }
+        PriorityQueue<Scored> heap = new PriorityQueue<>(k + 1, LOWEST_FIRST);
+        scores.forEach((postId, score) -> {
+            double sum = score.sum();
+            if (heap.size() < k) {
+                heap.add(new Scored(postId, sum));
+            } else if (sum > heap.peek().score()) {
+                heap.poll();
+                heap.add(new Scored(postId, sum));
+            }
+        });
+        List<Scored> result = new ArrayList<>(heap);
+        result.sort(LOWEST_FIRST.reversed());
+        return result;
+    }
+
+    private record Scored(Long postId, double score) {
+    }
+}
@@ -0,0 +1,62 @@
+-- Pooled id sequences replacing SERIAL/IDENTITY columns. One-off (see OneOffMigrations): the ALTERs
+-- take an ACCESS EXCLUSIVE lock on each table, so they must not run on every startup.
+-- Entities take ids from <table>_seq 50 at a time, which lets Hibernate batch inserts; the column default
+-- points at the same sequence so plain SQL inserts (e.g. the post view ingestion queue) cannot collide.
+-- Such inserts use up a whole block of 50 each, hence BIGINT ids (a no-op where they already are).
+-- Every statement is idempotent: the sequence is only ever moved forward, past the highest existing id.
+
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
+ALTER SEQUENCE users_seq INCREMENT BY 50 OWNED BY users.id;
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE users ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_seq');
+SELECT setval('users_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM users), (SELECT last_value FROM users_seq), 1));
+
+CREATE SEQUENCE IF NOT EXISTS roles_seq INCREMENT BY 50;
+ALTER SEQUENCE roles_seq INCREMENT BY 50 OWNED BY roles.id;
+ALTER TABLE roles ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE roles ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE roles ALTER COLUMN id SET DEFAULT nextval('roles_seq');
+SELECT setval('roles_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM roles), (SELECT last_value FROM roles_seq), 1));
+
+CREATE SEQUENCE IF NOT EXISTS posts_seq INCREMENT BY 50;
+ALTER SEQUENCE posts_seq INCREMENT BY 50 OWNED BY posts.id;
+ALTER TABLE posts ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE posts ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE posts ALTER COLUMN id SET DEFAULT nextval('posts_seq');
+SELECT setval('posts_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM posts), (SELECT last_value FROM posts_seq), 1));
+
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
+ALTER SEQUENCE comments_seq INCREMENT BY 50 OWNED BY comments.id;
+ALTER TABLE comments ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE comments ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE comments ALTER COLUMN id SET DEFAULT nextval('comments_seq');
+SELECT setval('comments_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM comments), (SELECT last_value FROM comments_seq), 1));
+
+CREATE SEQUENCE IF NOT EXISTS tags_seq INCREMENT BY 50;
+ALTER SEQUENCE tags_seq INCREMENT BY 50 OWNED BY tags.id;
+ALTER TABLE tags ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE tags ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE tags ALTER COLUMN id SET DEFAULT nextval('tags_seq');
+SELECT setval('tags_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM tags), (SELECT last_value FROM tags_seq), 1));
+
+CREATE SEQUENCE IF NOT EXISTS reviews_seq INCREMENT BY 50;
+ALTER SEQUENCE reviews_seq INCREMENT BY 50 OWNED BY reviews.id;
+ALTER TABLE reviews ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE reviews ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE reviews ALTER COLUMN id SET DEFAULT nextval('reviews_seq');
+SELECT setval('reviews_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM reviews), (SELECT last_value FROM reviews_seq), 1));
+
+CREATE SEQUENCE IF NOT EXISTS post_views_seq INCREMENT BY 50;
+ALTER SEQUENCE post_views_seq INCREMENT BY 50 OWNED BY post_views.id;
+ALTER TABLE post_views ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE post_views ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE post_views ALTER COLUMN id SET DEFAULT nextval('post_views_seq');
+SELECT setval('post_views_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM post_views), (SELECT last_value FROM post_views_seq), 1));
+
+CREATE SEQUENCE IF NOT EXISTS activity_logs_seq INCREMENT BY 50;
+ALTER SEQUENCE activity_logs_seq INCREMENT BY 50 OWNED BY activity_logs.id;
+ALTER TABLE activity_logs ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE activity_logs ALTER COLUMN id TYPE BIGINT;
+ALTER TABLE activity_logs ALTER COLUMN id SET DEFAULT nextval('activity_logs_seq');
+SELECT setval('activity_logs_seq', GREATEST((SELECT COALESCE(MAX(id), 0) FROM activity_logs), (SELECT last_value FROM activity_logs_seq), 1));
@@ -0,0 +1,10 @@
+-- Fills posts.search_vector for rows written before the column existed (see db/post-search.sql).
+-- One-off (see OneOffMigrations): the UPDATE scans the whole posts table, too slow for every startup.
+-- PostService, PostBulkService and TagService keep new and changed rows current.
+
+UPDATE posts p SET search_vector =
+    setweight(to_tsvector('english', coalesce(p.title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce((SELECT string_agg(t.name, ' ') FROM post_tags pt
+        JOIN tags t ON t.id = pt.tag_id WHERE pt.post_id = p.id), '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(p.content, '')), 'C')
+WHERE p.search_vector IS NULL;
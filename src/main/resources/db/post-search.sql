@@ -0,0 +1,6 @@
+-- Full-text search support for posts (runs after Hibernate has created/updated the tables)
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector;
+
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector);
+
+-- Rows written before the column existed are filled once by db/migrations/002-post-search-backfill.sql
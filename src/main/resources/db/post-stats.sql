@@ -0,0 +1,21 @@
+-- Rating leaderboard support for post_stats (runs after Hibernate has created/updated the tables)
+-- Damped average: every post counts 5 extra 3-star ratings, so a single 5-star review cannot top the
+-- board. Generated, so the increments in PostStatsService keep it current without touching it
+ALTER TABLE post_stats ADD COLUMN IF NOT EXISTS rating_score DOUBLE PRECISION
+    GENERATED ALWAYS AS ((rating_sum + 15.0) / (rating_count + 5)) STORED;
+
+CREATE INDEX IF NOT EXISTS idx_post_stats_rating_score ON post_stats (rating_score DESC, post_id DESC);
+
+-- Backfill histograms of rows written before the histogram columns existed
+UPDATE post_stats s SET rating_1_count = r.c1, rating_2_count = r.c2, rating_3_count = r.c3,
+                        rating_4_count = r.c4, rating_5_count = r.c5
+FROM (SELECT post_id,
+             count(*) FILTER (WHERE rating = 1) AS c1, count(*) FILTER (WHERE rating = 2) AS c2,
+             count(*) FILTER (WHERE rating = 3) AS c3, count(*) FILTER (WHERE rating = 4) AS c4,
+             count(*) FILTER (WHERE rating = 5) AS c5
+      FROM reviews
+      WHERE post_id IN (SELECT post_id FROM post_stats
+                        WHERE rating_count > 0
+                          AND rating_1_count + rating_2_count + rating_3_count + rating_4_count + rating_5_count = 0)
+      GROUP BY post_id) r
+WHERE s.post_id = r.post_id;
@@ -1,6 +1,10 @@
+-- Ids come from pooled sequences (allocationSize = 50 in the entities, so Hibernate can batch inserts);
+-- db/migrations/001-id-sequences.sql migrates databases created with SERIAL ids
+
 -- Users Table (with Role for Admin privileges)
+CREATE SEQUENCE IF NOT EXISTS users_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS users (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('users_seq'),
     username VARCHAR(50) UNIQUE NOT NULL,
     email VARCHAR(100) UNIQUE NOT NULL,
     password VARCHAR(255) NOT NULL,
@@ -9,8 +13,9 @@ CREATE TABLE IF NOT EXISTS users (
 );
 
 -- Posts Table
+CREATE SEQUENCE IF NOT EXISTS posts_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS posts (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('posts_seq'),
     user_id INT NOT NULL,
     title VARCHAR(255) NOT NULL,
     content TEXT NOT NULL,
@@ -20,8 +25,9 @@ CREATE TABLE IF NOT EXISTS posts (
 );
 
 -- Comments Table
+CREATE SEQUENCE IF NOT EXISTS comments_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS comments (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('comments_seq'),
     post_id INT NOT NULL,
     user_id INT NOT NULL,
     content TEXT NOT NULL,
@@ -31,8 +37,9 @@ CREATE TABLE IF NOT EXISTS comments (
 );
 
 -- Tags Table
+CREATE SEQUENCE IF NOT EXISTS tags_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS tags (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('tags_seq'),
     name VARCHAR(50) UNIQUE NOT NULL
 );
 
@@ -46,8 +53,9 @@ CREATE TABLE IF NOT EXISTS post_tags (
 );
 
 -- Reviews Table (for reviewing posts)
+CREATE SEQUENCE IF NOT EXISTS reviews_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS reviews (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('reviews_seq'),
     post_id INT NOT NULL,
     user_id INT NOT NULL,
     rating INT CHECK (rating >= 1 AND rating <= 5),
@@ -58,8 +66,9 @@ CREATE TABLE IF NOT EXISTS reviews (
 );
 
 -- Post Views (Tracking WHO viewed a post)
+CREATE SEQUENCE IF NOT EXISTS post_views_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS post_views (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('post_views_seq'),
     post_id INT NOT NULL,
     user_id INT,
     viewed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
@@ -68,8 +77,9 @@ CREATE TABLE IF NOT EXISTS post_views (
 );
 
 -- Activity Log (Tracking WHO deleted/created things - Auditing)
+CREATE SEQUENCE IF NOT EXISTS activity_logs_seq INCREMENT BY 50;
 CREATE TABLE IF NOT EXISTS activity_log (
-    id SERIAL PRIMARY KEY,
+    id BIGINT PRIMARY KEY DEFAULT nextval('activity_logs_seq'),
     user_id INT,
     action VARCHAR(50) NOT NULL,
     target_id INT,
@@ -78,3 +88,56 @@ CREATE TABLE IF NOT EXISTS activity_log (
     FOREIGN KEY (user_id) REFERENCES users(id) ON DELETE SET NULL
 );
 
+
+-- Post View Counts (daily rollup, read instead of counting post_views rows; filled once from
+-- post_views on startup while empty)
+CREATE TABLE IF NOT EXISTS post_view_counts (
+    post_id INT NOT NULL,
+    view_date DATE NOT NULL,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (post_id, view_date),
+    FOREIGN KEY (post_id) REFERENCES posts(id) ON DELETE CASCADE
+);
+
+-- Post Stats (denormalized counters, incremented by PostStatsService; the nightly rebuild
+-- also removes rows of deleted posts, hence no foreign key)
+CREATE TABLE IF NOT EXISTS post_stats (
+    post_id BIGINT PRIMARY KEY,
+    comment_count BIGINT NOT NULL DEFAULT 0,
+    view_count BIGINT NOT NULL DEFAULT 0,
+    rating_count BIGINT NOT NULL DEFAULT 0,
+    rating_sum BIGINT NOT NULL DEFAULT 0,
+    rating_1_count BIGINT NOT NULL DEFAULT 0,
+    rating_2_count BIGINT NOT NULL DEFAULT 0,
+    rating_3_count BIGINT NOT NULL DEFAULT 0,
+    rating_4_count BIGINT NOT NULL DEFAULT 0,
+    rating_5_count BIGINT NOT NULL DEFAULT 0,
+    -- Damped average for the rating leaderboard: every post counts 5 extra 3-star ratings
+    rating_score DOUBLE PRECISION GENERATED ALWAYS AS ((rating_sum + 15.0) / (rating_count + 5)) STORED
+);
+CREATE INDEX IF NOT EXISTS idx_post_stats_rating_score ON post_stats (rating_score DESC, post_id DESC);
+
+-- Trending scores (cluster-wide time-decayed scores as of scored_at; each node merges in its own
+-- engagement every minute and reloads its in-memory scores from here; negligible scores and rows
+-- of deleted posts are pruned)
+CREATE TABLE IF NOT EXISTS trending_scores (
+    post_id BIGINT PRIMARY KEY,
+    score DOUBLE PRECISION NOT NULL,
+    scored_at TIMESTAMP NOT NULL
+);
+
+-- One-off migrations (db/migrations) applied to this database, written by OneOffMigrations
+CREATE TABLE IF NOT EXISTS schema_migrations (
+    name VARCHAR(255) PRIMARY KEY,
+    applied_at TIMESTAMP NOT NULL
+);
+
+-- Keyset pagination index for newest-first post listing
+CREATE INDEX IF NOT EXISTS idx_posts_created_at_id ON posts (created_at DESC, id DESC);
+
+-- Full-text search document for posts (title, tag names, content)
+ALTER TABLE posts ADD COLUMN IF NOT EXISTS search_vector tsvector;
+CREATE INDEX IF NOT EXISTS idx_posts_search_vector ON posts USING GIN (search_vector);
+
+-- Keyset pagination index for one author's posts, newest first
+CREATE INDEX IF NOT EXISTS idx_posts_user_created_at_id ON posts (user_id, created_at DESC, id DESC);
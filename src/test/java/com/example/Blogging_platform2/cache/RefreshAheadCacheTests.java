@@ -0,0 +1,135 @@
+package com.example.Blogging_platform2.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.caffeine.CaffeineCache;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+class RefreshAheadCacheTests {
+
+    private final MeterRegistry meters = new SimpleMeterRegistry();
+    // Background refreshes wait here until the test runs them
+    private final Queue<Runnable> refreshes = new ArrayDeque<>();
+
+    @Test
+    void concurrentMissesRunOneLoader() throws Exception {
+        Cache cache = refreshAheadCache(Duration.ofMinutes(5));
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            release.await();
+            return "loaded";
+        }));
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> cache.get(1L, () -> {
+            loads.incrementAndGet();
+            return "loaded again";
+        }));
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("loaded");
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void staleEntryIsServedWhileOneReloadRuns() {
+        Cache cache = refreshAheadCache(Duration.ZERO);
+        cache.put(1L, "v1");
+        AtomicInteger loads = new AtomicInteger();
+
+        assertThat(cache.get(1L, () -> "v" + (1 + loads.incrementAndGet()))).isEqualTo("v1");
+        assertThat(cache.get(1L, () -> "v" + (1 + loads.incrementAndGet()))).isEqualTo("v1");
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.remove().run();
+
+        assertThat(loads).hasValue(1);
+        assertThat(cache.get(1L).get()).isEqualTo("v2");
+        assertThat(meters.counter("blog.cache.refreshes", "cache", CacheNames.POSTS, "reason", "stale").count()).isEqualTo(1);
+    }
+
+    @Test
+    void lateRefreshIsDroppedAfterEvict() {
+        Cache cache = refreshAheadCache(Duration.ZERO);
+        cache.put(1L, "v1");
+        cache.get(1L, () -> "v1 reloaded");
+
+        cache.evict(1L);
+        refreshes.remove().run();
+
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    @Test
+    void lateRefreshIsDroppedAfterPut() {
+        Cache cache = refreshAheadCache(Duration.ZERO);
+        cache.put(1L, "v1");
+        cache.get(1L, () -> "v1 reloaded");
+
+        cache.put(1L, "v2");
+        refreshes.remove().run();
+
+        assertThat(cache.get(1L).get()).isEqualTo("v2");
+        // The next stale hit starts a new refresh instead of waiting on the dropped one
+        cache.get(1L, () -> "v2 reloaded");
+        assertThat(refreshes).hasSize(1);
+    }
+
+    // Two nodes as in TwoTierCacheManagerTests, each with the refresh-ahead decorator on top
+    @Test
+    void lateRefreshIsDroppedAfterAnotherNodeWritesTheEntry() throws Exception {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec spec = new CacheProperties.Spec();
+        spec.setRefreshAfterWrite(Duration.ZERO);
+        properties.getSpecs().put(CacheNames.POSTS, spec);
+        L2CacheStore l2 = new LocalL2CacheStore(properties);
+        CacheInvalidationChannel channel = new LocalCacheInvalidationChannel();
+        MeterRegistry metersA = new SimpleMeterRegistry();
+        Cache nodeA = new DecoratingCacheManager(new TwoTierCacheManager(properties, l2, channel, metersA),
+                properties, metersA).getCache(CacheNames.POSTS);
+        MeterRegistry metersB = new SimpleMeterRegistry();
+        Cache nodeB = new DecoratingCacheManager(new TwoTierCacheManager(properties, l2, channel, metersB),
+                properties, metersB).getCache(CacheNames.POSTS);
+
+        nodeA.put(1L, "v1");
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        assertThat(nodeA.get(1L, () -> {
+            loading.countDown();
+            release.await();
+            return "v1 reloaded";
+        })).isEqualTo("v1");
+        assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+
+        nodeB.put(1L, "v2");
+        release.countDown();
+        await().atMost(Duration.ofSeconds(5))
+                .until(() -> metersA.counter("blog.cache.refreshes", "cache", CacheNames.POSTS, "reason", "stale").count() == 1);
+
+        assertThat(nodeA.get(1L).get()).isEqualTo("v2");
+        assertThat(nodeB.get(1L).get()).isEqualTo("v2");
+    }
+
+    private Cache refreshAheadCache(Duration refreshAfterWrite) {
+        return new RefreshAheadCache(new CaffeineCache(CacheNames.POSTS, Caffeine.newBuilder().build()),
+                refreshAfterWrite, 1.0, refreshes::add, meters);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.Blogging_platform2.cache;
+
+import com.example.Blogging_platform2.dao.PostDao;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.model.Post;
+import com.example.Blogging_platform2.model.User;
+import com.example.Blogging_platform2.service.PostService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Cache writes from PostService must only land once the surrounding transaction commits
+class TransactionAwareCacheTests {
+
+    private AnnotationConfigApplicationContext context;
+    private PostService postService;
+    private TestTransactionManager transactionManager;
+    private Cache posts;
+    private Cache postPages;
+
+    @BeforeEach
+    void setUp() {
+        context = new AnnotationConfigApplicationContext(CacheTestConfig.class);
+        postService = context.getBean(PostService.class);
+        transactionManager = context.getBean(TestTransactionManager.class);
+        CacheManager cacheManager = context.getBean(CacheManager.class);
+        posts = cacheManager.getCache(CacheNames.POSTS);
+        postPages = cacheManager.getCache(CacheNames.POST_PAGES);
+
+        PostDao postDao = context.getBean(PostDao.class);
+        Post existing = post(1L, "original");
+        when(postDao.findById(1L)).thenReturn(Optional.of(existing));
+        when(postDao.findDetailById(1L)).thenAnswer(inv -> Optional.of(PostDetail.from(existing)));
+        when(postDao.saveAndFlush(any(Post.class))).thenAnswer(inv -> {
+            Post saved = inv.getArgument(0);
+            if (saved.getId() == null) {
+                saved.setId(42L);
+            }
+            return saved;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void failedCommitDoesNotCacheTheNewPost() {
+        transactionManager.failCommit = true;
+
+        assertThatThrownBy(() -> postService.savePost(post(null, "never committed")))
+                .isInstanceOf(TransactionSystemException.class);
+
+        assertThat(posts.get(42L)).isNull();
+    }
+
+    @Test
+    void rolledBackUpdateKeepsCachedPostAndPages() {
+        postService.getPostById(1L);
+        postPages.put("page-0", "cached page");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            postService.updatePost(1L, post(1L, "rolled back"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(posts.get(1L, PostDetail.class).title()).isEqualTo("original");
+        assertThat(postPages.get("page-0")).isNotNull();
+    }
+
+    @Test
+    void committedUpdateReplacesPostAndClearsPages() {
+        postService.getPostById(1L);
+        postPages.put("page-0", "cached page");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            postService.updatePost(1L, post(1L, "updated"));
+            // Still the old state until the commit
+            assertThat(posts.get(1L, PostDetail.class).title()).isEqualTo("original");
+        });
+
+        assertThat(posts.get(1L, PostDetail.class).title()).isEqualTo("updated");
+        assertThat(postPages.get("page-0")).isNull();
+    }
+
+    private static Post post(Long id, String title) {
+        User user = new User();
+        user.setId(7L);
+        Post post = new Post();
+        post.setId(id);
+        post.setTitle(title);
+        post.setContent("content");
+        post.setCreatedAt(LocalDateTime.of(2024, 1, 1, 12, 0));
+        post.setUser(user);
+        return post;
+    }
+
+    @Configuration
+    @EnableCaching
+    @EnableTransactionManagement
+    static class CacheTestConfig {
+
+        @Bean
+        CacheManager cacheManager() {
+            CacheProperties properties = new CacheProperties();
+            return new DecoratingCacheManager(new CaffeineCacheManager(), properties, new SimpleMeterRegistry());
+        }
+
+        @Bean
+        TestTransactionManager transactionManager() {
+            return new TestTransactionManager();
+        }
+
+        @Bean
+        PostDao postDao() {
+            return mock(PostDao.class);
+        }
+
+        @Bean
+        PostService postService(PostDao postDao) {
+            return new PostService(postDao, event -> { });
+        }
+    }
+
+    // No resource behind it; only drives synchronizations, and can fail the way a flush-time constraint would
+    static class TestTransactionManager extends AbstractPlatformTransactionManager {
+
+        volatile boolean failCommit;
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected boolean isExistingTransaction(Object transaction) {
+            return TransactionSynchronizationManager.isActualTransactionActive();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+            if (failCommit) {
+                throw new TransactionSystemException("Constraint violated while flushing");
+            }
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doSetRollbackOnly(DefaultTransactionStatus status) {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.Blogging_platform2.cache;
+
+import com.example.Blogging_platform2.dto.PostDetail;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Two managers sharing the local L2 store and channel behave like two application nodes
+class TwoTierCacheManagerTests {
+
+    private final CacheProperties properties = new CacheProperties();
+    private final L2CacheStore l2 = new LocalL2CacheStore(properties);
+    private final CacheInvalidationChannel channel = new LocalCacheInvalidationChannel();
+    private final MeterRegistry metersA = new SimpleMeterRegistry();
+    private final MeterRegistry metersB = new SimpleMeterRegistry();
+
+    private Cache nodeA;
+    private Cache nodeB;
+
+    @BeforeEach
+    void setUp() {
+        nodeA = new TwoTierCacheManager(properties, l2, channel, metersA).getCache(CacheNames.POSTS);
+        nodeB = new TwoTierCacheManager(properties, l2, channel, metersB).getCache(CacheNames.POSTS);
+    }
+
+    @Test
+    void updateOnOneNodeIsVisibleOnTheOther() {
+        nodeA.put(1L, post("first"));
+        assertThat(nodeB.get(1L, PostDetail.class).title()).isEqualTo("first");
+        assertThat(tierCount(metersB, "l2", "hit")).isEqualTo(1);
+
+        // B now holds it in L1; the update on A must evict that copy
+        nodeA.put(1L, post("second"));
+        assertThat(nodeB.get(1L, PostDetail.class).title()).isEqualTo("second");
+        assertThat(metersB.counter("blog.cache.invalidations.received", "cache", CacheNames.POSTS).count()).isEqualTo(2);
+    }
+
+    @Test
+    void evictOnOneNodeRemovesTheEntryEverywhere() {
+        nodeA.put(1L, post("first"));
+        nodeB.get(1L);
+
+        nodeA.evict(1L);
+
+        assertThat(nodeB.get(1L)).isNull();
+        assertThat(nodeA.get(1L)).isNull();
+    }
+
+    @Test
+    void loaderRunsOnceAcrossNodes() {
+        AtomicInteger loads = new AtomicInteger();
+
+        PostDetail fromA = nodeA.get(1L, () -> post("loaded" + loads.incrementAndGet()));
+        PostDetail fromB = nodeB.get(1L, () -> post("loaded" + loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(1);
+        assertThat(fromB).isEqualTo(fromA);
+        assertThat(tierCount(metersA, "l2", "miss")).isEqualTo(1);
+        assertThat(tierCount(metersB, "l2", "hit")).isEqualTo(1);
+    }
+
+    private static double tierCount(MeterRegistry meters, String tier, String result) {
+        return meters.counter("blog.cache.tier.gets", "cache", CacheNames.POSTS, "tier", tier, "result", result).count();
+    }
+
+    private static PostDetail post(String title) {
+        return new PostDetail(1L, 7L, title, "content", null, null);
+    }
+}
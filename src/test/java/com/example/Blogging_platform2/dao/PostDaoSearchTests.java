@@ -0,0 +1,42 @@
+package com.example.Blogging_platform2.dao;
+
+import com.example.Blogging_platform2.dto.PostSearchHit;
+import com.example.Blogging_platform2.model.Post;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Runs against the PostgreSQL test database: ts_headline and tsvector have no in-memory equivalent
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("test")
+class PostDaoSearchTests {
+
+    @Autowired
+    private PostDao postDao;
+
+    @Test
+    void headlineEscapesMarkupFromThePostBody() {
+        Post post = new Post();
+        post.setTitle("Release notes");
+        post.setContent("The kafka consumer <script>alert('x')</script> now retries & backs off <b>faster</b>.");
+        Long id = postDao.saveAndFlush(post).getId();
+        postDao.refreshSearchVector(id);
+
+        List<PostSearchHit> hits = postDao.searchFullTextHits("kafka", 10, 0);
+
+        assertThat(hits).singleElement().satisfies(hit -> {
+            assertThat(hit.getId()).isEqualTo(id);
+            assertThat(hit.getHeadline())
+                    .contains("<mark>kafka</mark>")
+                    .contains("&lt;script&gt;", "&amp;", "&lt;b&gt;")
+                    .doesNotContain("<script>", "<b>");
+        });
+    }
+}
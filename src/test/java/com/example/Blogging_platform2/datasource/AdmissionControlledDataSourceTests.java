@@ -0,0 +1,84 @@
+package com.example.Blogging_platform2.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AdmissionControlledDataSourceTests {
+
+    private final DataSource pool = mock(DataSource.class);
+    private final Connection pooled = mock(Connection.class);
+
+    @Test
+    void permitGoesBackOnFirstCloseOnly() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        Connection connection = dataSource.getConnection();
+        assertThat(dataSource.getInUse()).isEqualTo(1);
+        assertThatThrownBy(dataSource::getConnection).isInstanceOf(SQLTransientConnectionException.class);
+
+        connection.close();
+        connection.close();
+        verify(pooled, times(2)).close();
+        assertThat(dataSource.getInUse()).isZero();
+        dataSource.getConnection();
+        assertThat(dataSource.getInUse()).isEqualTo(1);
+    }
+
+    @Test
+    void waiterIsAdmittedWhenAConnectionIsReturned() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofSeconds(5));
+        Connection held = dataSource.getConnection();
+
+        CountDownLatch admitted = new CountDownLatch(1);
+        Thread waiter = Thread.ofVirtual().start(() -> {
+            try (Connection ignored = dataSource.getConnection()) {
+                admitted.countDown();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        while (dataSource.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+        held.close();
+
+        assertThat(admitted.await(5, TimeUnit.SECONDS)).isTrue();
+        waiter.join();
+        assertThat(dataSource.getInUse()).isZero();
+    }
+
+    @Test
+    void fullQueueIsRejectedWithoutWaiting() throws Exception {
+        when(pool.getConnection()).thenReturn(pooled);
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 0, Duration.ofSeconds(5));
+        dataSource.getConnection();
+
+        long start = System.nanoTime();
+        assertThatThrownBy(dataSource::getConnection).hasMessageContaining("queue is full");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void failedCheckoutReleasesThePermit() throws Exception {
+        when(pool.getConnection()).thenThrow(new java.sql.SQLException("pool closed"));
+        AdmissionControlledDataSource dataSource = new AdmissionControlledDataSource(pool, 1, 10, Duration.ofMillis(50));
+
+        assertThatThrownBy(dataSource::getConnection).hasMessage("pool closed");
+        assertThat(dataSource.getInUse()).isZero();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.Blogging_platform2.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.EnableAspectJAutoProxy;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.ConnectionProxy;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// A value loaded into a shared cache right after a write must not come from a lagging replica
+class CacheLoadRoutingTests {
+
+    private static final DataSource primary = mock(DataSource.class);
+    private static final DataSource replica = mock(DataSource.class);
+    private static final Connection primaryConnection = mock(Connection.class);
+    private static final Connection replicaConnection = mock(Connection.class);
+
+    private AnnotationConfigApplicationContext context;
+    private PostReader reader;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        Statement statement = mock(Statement.class);
+        ResultSet lag = mock(ResultSet.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+
+        context = new AnnotationConfigApplicationContext(RoutingTestConfig.class);
+        context.getBean(ReadWriteRoutingDataSource.class).checkReplicaLag();
+        reader = context.getBean(PostReader.class);
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void cacheMissAfterAWriteLoadsFromThePrimary() throws SQLException {
+        assertThat(reader.find(1L)).isSameAs(primaryConnection);
+
+        assertThat(reader.update(1L)).isSameAs(primaryConnection);
+
+        // Another reader misses after the evict; a replica could still return the old row here
+        assertThat(reader.find(1L)).isSameAs(primaryConnection);
+        assertThat(PrimaryReads.isRequired()).isFalse();
+    }
+
+    @Test
+    void uncachedReadOnlyReadsStillUseTheReplica() throws SQLException {
+        assertThat(reader.list()).isSameAs(replicaConnection);
+    }
+
+    @Configuration
+    @EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+    @EnableTransactionManagement
+    @EnableAspectJAutoProxy
+    static class RoutingTestConfig {
+
+        @Bean
+        ReadWriteRoutingDataSource routingDataSource() {
+            return new ReadWriteRoutingDataSource(primary, Map.of("replica-0", replica), Duration.ofSeconds(2),
+                    new ReadYourWritesTracker(Duration.ofSeconds(5)), new SimpleMeterRegistry());
+        }
+
+        @Bean
+        DataSource dataSource(ReadWriteRoutingDataSource routingDataSource) {
+            LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+            dataSource.setDefaultAutoCommit(true);
+            dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_READ_COMMITTED);
+            return dataSource;
+        }
+
+        @Bean
+        PlatformTransactionManager transactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+
+        @Bean
+        CacheManager cacheManager() {
+            return new ConcurrentMapCacheManager();
+        }
+
+        @Bean
+        CacheLoadRoutingAspect cacheLoadRoutingAspect() {
+            return new CacheLoadRoutingAspect();
+        }
+
+        @Bean
+        PostReader postReader(DataSource dataSource) {
+            return new PostReader(dataSource);
+        }
+    }
+
+    // Returns the physical connection each call ran on
+    static class PostReader {
+
+        private final DataSource dataSource;
+
+        PostReader(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        @Transactional(readOnly = true)
+        @Cacheable("posts")
+        public Connection find(Long id) throws SQLException {
+            return physicalConnection();
+        }
+
+        @Transactional(readOnly = true)
+        public Connection list() throws SQLException {
+            return physicalConnection();
+        }
+
+        @Transactional
+        @CacheEvict("posts")
+        public Connection update(Long id) throws SQLException {
+            return physicalConnection();
+        }
+
+        private Connection physicalConnection() throws SQLException {
+            return ((ConnectionProxy) DataSourceUtils.getConnection(dataSource)).getTargetConnection();
+        }
+    }
+}
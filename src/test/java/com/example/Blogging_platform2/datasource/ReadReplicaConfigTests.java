@@ -0,0 +1,46 @@
+package com.example.Blogging_platform2.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.test.util.TestPropertyValues;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReadReplicaConfigTests {
+
+    // Hikari pools start on first use, so no database is needed to build and close them
+    @Test
+    void closingTheContextClosesThePrimaryAndReplicaPools() throws Exception {
+        DataSourceProperties primary = new DataSourceProperties();
+        primary.setUrl("jdbc:postgresql://localhost:5432/blog");
+        RoutingProperties routing = new RoutingProperties();
+        RoutingProperties.Replica replica = new RoutingProperties.Replica();
+        replica.setUrl("jdbc:postgresql://replica-1:5432/blog");
+        routing.setReplicas(List.of(replica));
+
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        TestPropertyValues.of("blog.datasource.routing.enabled=true").applyTo(context);
+        context.registerBean(DataSourceProperties.class, () -> primary);
+        context.registerBean(RoutingProperties.class, () -> routing);
+        context.registerBean(MeterRegistry.class, SimpleMeterRegistry::new);
+        context.register(ReadReplicaConfig.class);
+        context.refresh();
+
+        List<HikariDataSource> pools = context.getBean(DataSource.class).unwrap(ReadWriteRoutingDataSource.class)
+                .getResolvedDataSources().values().stream()
+                .map(HikariDataSource.class::cast)
+                .toList();
+        assertThat(pools).hasSize(2).noneMatch(HikariDataSource::isClosed);
+
+        context.close();
+
+        assertThat(pools).allMatch(HikariDataSource::isClosed);
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.Blogging_platform2.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTests {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource replica = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection replicaConnection = mock(Connection.class);
+    private final ResultSet lag = mock(ResultSet.class);
+
+    private ReadWriteRoutingDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        Statement statement = mock(Statement.class);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(lag);
+        when(lag.next()).thenReturn(true);
+
+        dataSource = new ReadWriteRoutingDataSource(primary, Map.of("replica-0", replica), Duration.ofSeconds(2),
+                new ReadYourWritesTracker(Duration.ofSeconds(5)), new SimpleMeterRegistry());
+        dataSource.checkReplicaLag();
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.clear();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void readOnlyTransactionsGoToTheReplicaAndWritesToThePrimary() throws SQLException {
+        assertThat(connect(true)).isSameAs(replicaConnection);
+        assertThat(connect(false)).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void usersReadTheirOwnWritesFromThePrimary() throws SQLException {
+        loginAs("alice");
+        assertThat(connect(false)).isSameAs(primaryConnection);
+        // Not sticky before the write commits
+        assertThat(connect(true)).isSameAs(replicaConnection);
+        commit();
+
+        assertThat(connect(true)).isSameAs(primaryConnection);
+        loginAs("bob");
+        assertThat(connect(true)).isSameAs(replicaConnection);
+    }
+
+    @Test
+    void laggingOrUnreachableReplicasAreSkipped() throws SQLException {
+        when(lag.getDouble(1)).thenReturn(5_000.0);
+        dataSource.checkReplicaLag();
+        assertThat(connect(true)).isSameAs(primaryConnection);
+
+        when(lag.getDouble(1)).thenReturn(0.0);
+        dataSource.checkReplicaLag();
+        assertThat(connect(true)).isSameAs(replicaConnection);
+
+        when(replica.getConnection()).thenThrow(new SQLException("connection refused"));
+        assertThat(connect(true)).isSameAs(primaryConnection);
+    }
+
+    private Connection connect(boolean readOnly) throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+        return dataSource.getConnection();
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static void loginAs(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+}
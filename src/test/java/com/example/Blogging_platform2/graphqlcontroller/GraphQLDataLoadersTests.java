@@ -0,0 +1,69 @@
+package com.example.Blogging_platform2.graphqlcontroller;
+
+import com.example.Blogging_platform2.dto.CommentDetail;
+import com.example.Blogging_platform2.dto.RatingSummaryDto;
+import com.example.Blogging_platform2.service.CommentService;
+import com.example.Blogging_platform2.service.PostService;
+import com.example.Blogging_platform2.service.ReviewService;
+import com.example.Blogging_platform2.service.TagService;
+import com.example.Blogging_platform2.service.UserService;
+import graphql.GraphQLContext;
+import org.dataloader.DataLoader;
+import org.dataloader.DataLoaderRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.graphql.execution.DefaultBatchLoaderRegistry;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GraphQLDataLoadersTests {
+
+    private final UserService userService = mock(UserService.class);
+    private final PostService postService = mock(PostService.class);
+    private final CommentService commentService = mock(CommentService.class);
+    private final TagService tagService = mock(TagService.class);
+    private final ReviewService reviewService = mock(ReviewService.class);
+
+    private DataLoaderRegistry dataLoaders;
+
+    @BeforeEach
+    void setUp() {
+        DefaultBatchLoaderRegistry batchLoaders = new DefaultBatchLoaderRegistry();
+        new GraphQLDataLoaders(batchLoaders, userService, postService, commentService, tagService, reviewService);
+        dataLoaders = DataLoaderRegistry.newRegistry().build();
+        batchLoaders.registerDataLoaders(dataLoaders, GraphQLContext.newContext().build());
+    }
+
+    @Test
+    void postWithoutCommentsResolvesToEmptyList() {
+        DataLoader<Long, List<CommentDetail>> commentLoader = dataLoaders.getDataLoader(GraphQLDataLoaders.COMMENTS_BY_POST);
+
+        CompletableFuture<List<CommentDetail>> result = commentLoader.load(1L);
+        dataLoaders.dispatchAll();
+
+        assertThat(result.join()).isEmpty();
+    }
+
+    @Test
+    void ratingSummariesLoadInOneBatchWithEmptySummariesForUnratedPosts() {
+        when(reviewService.getRatingSummaries(anyCollection())).thenReturn(
+                List.of(new RatingSummaryDto(1L, 2, 4.5, List.of(0L, 0L, 0L, 1L, 1L))));
+        DataLoader<Long, RatingSummaryDto> loader = dataLoaders.getDataLoader(GraphQLDataLoaders.RATING_SUMMARY_BY_POST);
+
+        CompletableFuture<RatingSummaryDto> rated = loader.load(1L);
+        CompletableFuture<RatingSummaryDto> unrated = loader.load(2L);
+        dataLoaders.dispatchAll();
+
+        assertThat(rated.join().average()).isEqualTo(4.5);
+        assertThat(unrated.join()).isEqualTo(RatingSummaryDto.empty(2L));
+        verify(reviewService, times(1)).getRatingSummaries(anyCollection());
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.Blogging_platform2.graphqlcontroller;
+
+import com.example.Blogging_platform2.dto.CommentDetail;
+import com.example.Blogging_platform2.dto.CursorPageDto;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.dto.UserSummary;
+import com.example.Blogging_platform2.model.Tag;
+import com.example.Blogging_platform2.service.CommentService;
+import com.example.Blogging_platform2.service.PostService;
+import com.example.Blogging_platform2.service.ReviewService;
+import com.example.Blogging_platform2.service.TagService;
+import com.example.Blogging_platform2.service.UserService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.graphql.GraphQlTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.graphql.ExecutionGraphQlResponse;
+import org.springframework.graphql.ExecutionGraphQlService;
+import org.springframework.graphql.support.DefaultExecutionGraphQlRequest;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.atMost;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+// Runs the nested query through the schema and the controllers, so a resolver that stopped going
+// through the DataLoaders would show up as extra service calls
+@GraphQlTest(controllers = {PostGraphQLController.class, CommentGraphQLController.class, ReviewGraphQLController.class})
+@Import(GraphQLDataLoaders.class)
+class PostGraphQLControllerTests {
+
+    private static final int POSTS = 100;
+    private static final int AUTHORS = 10;
+    private static final int COMMENTERS = 20;
+    private static final int COMMENTS_PER_POST = 3;
+
+    private static final String NESTED_POSTS = """
+            query {
+              postsConnection(first: 100) {
+                edges { node { user { username } comments { user { username } } tags { name } } }
+              }
+            }""";
+
+    @Autowired
+    private ExecutionGraphQlService graphQlService;
+
+    @MockBean
+    private UserService userService;
+    @MockBean
+    private PostService postService;
+    @MockBean
+    private CommentService commentService;
+    @MockBean
+    private TagService tagService;
+    @MockBean
+    private ReviewService reviewService;
+
+    private final Map<Long, UserSummary> users = new HashMap<>();
+    private final List<PostDetail> posts = new ArrayList<>();
+    private final List<CommentDetail> comments = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LongStream.rangeClosed(1, COMMENTERS).forEach(id ->
+                users.put(id, new UserSummary(id, "user" + id, "user" + id + "@example.com", "ROLE_USER")));
+        long commentId = 1;
+        for (long postId = 1; postId <= POSTS; postId++) {
+            posts.add(new PostDetail(postId, 1 + postId % AUTHORS, "title" + postId, "content", null, null));
+            for (int i = 0; i < COMMENTS_PER_POST; i++) {
+                comments.add(new CommentDetail(commentId++, postId, 1 + (postId + i) % COMMENTERS, "comment", null));
+            }
+        }
+
+        when(postService.getPostsAfter(isNull(), isNull(), anyInt())).thenReturn(new CursorPageDto<>(posts, null, false));
+        when(userService.findAllByIds(anyCollection())).thenAnswer(inv ->
+                inv.<Collection<Long>>getArgument(0).stream().map(users::get).toList());
+        when(commentService.getCommentsByPostIds(anyCollection())).thenAnswer(inv -> {
+            Collection<Long> postIds = inv.getArgument(0);
+            return comments.stream().filter(c -> postIds.contains(c.postId())).toList();
+        });
+        when(tagService.getTagsByPostIds(anyCollection())).thenAnswer(inv -> {
+            Tag tag = new Tag();
+            tag.setId(1L);
+            tag.setName("java");
+            return inv.<Collection<Long>>getArgument(0).stream()
+                    .collect(Collectors.toMap(id -> id, id -> List.of(tag)));
+        });
+    }
+
+    // 1 page query, then per level: users + comments + tags for the posts, users for the comments
+    @Test
+    void nestedPostQueryLoadsEachAssociationOncePerLevel() {
+        ExecutionGraphQlResponse response = graphQlService
+                .execute(new DefaultExecutionGraphQlRequest(NESTED_POSTS, null, null, null, "1", null))
+                .block();
+
+        assertThat(response.getErrors()).isEmpty();
+        List<Map<String, Map<String, Object>>> edges = response.field("postsConnection.edges").getValue();
+        assertThat(edges).hasSize(POSTS);
+        assertThat(response.field("postsConnection.edges[0].node.user.username").<String>getValue()).isEqualTo("user2");
+        assertThat(response.field("postsConnection.edges[0].node.comments").<List<?>>getValue()).hasSize(COMMENTS_PER_POST);
+        assertThat(response.field("postsConnection.edges[0].node.comments[0].user.username").<String>getValue()).isEqualTo("user2");
+        assertThat(response.field("postsConnection.edges[99].node.tags[0].name").<String>getValue()).isEqualTo("java");
+
+        verify(postService, times(1)).getPostsAfter(isNull(), isNull(), anyInt());
+        verify(commentService, times(1)).getCommentsByPostIds(anyCollection());
+        verify(tagService, times(1)).getTagsByPostIds(anyCollection());
+
+        // Users are asked for at most once per level (authors, commenters; graphql-java may merge the
+        // two), and a user already loaded for this request is never asked for again
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Collection<Long>> userIds = ArgumentCaptor.forClass(Collection.class);
+        verify(userService, atMost(2)).findAllByIds(userIds.capture());
+        List<Long> requested = userIds.getAllValues().stream().flatMap(Collection::stream).toList();
+        assertThat(requested).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(users.keySet());
+
+        verifyNoMoreInteractions(postService, userService, commentService, tagService, reviewService);
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.CacheConfig;
+import com.example.Blogging_platform2.cache.CacheInvalidationChannel;
+import com.example.Blogging_platform2.cache.CacheNames;
+import com.example.Blogging_platform2.cache.CacheProperties;
+import com.example.Blogging_platform2.cache.DecoratingCacheManager;
+import com.example.Blogging_platform2.cache.L2CacheStore;
+import com.example.Blogging_platform2.dto.CacheStatsDto;
+import com.example.Blogging_platform2.exception.ResourceNotFoundException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.util.unit.DataSize;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CacheStatsServiceTests {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private DecoratingCacheManager cacheManager;
+    private CacheStatsService service;
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties properties = new CacheProperties();
+        CacheProperties.Spec posts = new CacheProperties.Spec();
+        posts.setMaximumWeight(DataSize.ofKilobytes(64));
+        properties.getSpecs().put(CacheNames.POSTS, posts);
+        StaticListableBeanFactory noBeans = new StaticListableBeanFactory();
+        cacheManager = new CacheConfig().cacheManager(properties, noBeans.getBeanProvider(L2CacheStore.class),
+                noBeans.getBeanProvider(CacheInvalidationChannel.class), meterRegistry);
+        service = new CacheStatsService(cacheManager, meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.destroy();
+    }
+
+    @Test
+    void reportsHitsLoadsAndHottestKeys() {
+        Cache cache = cacheManager.getCache(CacheNames.POSTS);
+        cache.get(1L, () -> "one");
+        for (int i = 0; i < 3; i++) {
+            cache.get(2L, () -> "two");
+        }
+
+        CacheStatsDto stats = service.getStats(CacheNames.POSTS, 1);
+
+        assertThat(stats.hitCount()).isEqualTo(2);
+        assertThat(stats.missCount()).isEqualTo(2);
+        assertThat(stats.loadSuccessCount()).isEqualTo(2);
+        assertThat(stats.loadMillisPercentiles()).containsKeys("p50", "p95", "p99");
+        assertThat(stats.estimatedSize()).isEqualTo(2);
+        assertThat(stats.hottestKeys()).containsExactly("2");
+        assertThat(meterRegistry.get("blog.cache.hit.ratio").tag("cache", CacheNames.POSTS).gauge().value())
+                .isEqualTo(0.5);
+    }
+
+    @Test
+    void shrinkingACacheEvictsBySize() {
+        Cache cache = cacheManager.getCache(CacheNames.POSTS);
+        for (long id = 0; id < 100; id++) {
+            cache.put(id, "post " + id);
+        }
+
+        CacheStatsDto stats = service.resize(CacheNames.POSTS, DataSize.ofBytes(200));
+
+        assertThat(stats.maximumWeight()).isEqualTo(200);
+        assertThat(stats.weightedSize()).isLessThanOrEqualTo(200);
+        assertThat(stats.evictionsByCause().get("size")).isPositive();
+    }
+
+    @Test
+    void clearEmptiesTheCacheAndUnknownCachesAreRejected() {
+        cacheManager.getCache(CacheNames.POSTS).put(1L, "one");
+
+        service.clear(CacheNames.POSTS);
+
+        assertThat(service.getStats(CacheNames.POSTS, 0).estimatedSize()).isZero();
+        assertThatThrownBy(() -> service.clear("noSuchCache")).isInstanceOf(ResourceNotFoundException.class);
+    }
+}
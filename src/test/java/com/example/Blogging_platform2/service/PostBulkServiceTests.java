@@ -0,0 +1,94 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.dao.PostDao;
+import com.example.Blogging_platform2.dto.BulkImportResult;
+import com.example.Blogging_platform2.dto.PostDetail;
+import com.example.Blogging_platform2.model.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostBulkServiceTests {
+
+    private static final long UNKNOWN_USER = 99L;
+
+    private final PostDao postDao = mock(PostDao.class);
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    private final PostBulkService service = new PostBulkService(postDao, objectMapper,
+            Validation.buildDefaultValidatorFactory().getValidator(), mock(PlatformTransactionManager.class));
+    private final AtomicLong ids = new AtomicLong();
+
+    @Test
+    void importsInBatchesAndReportsBadRowsByLine() throws Exception {
+        // A post by an unknown user fails its whole batch, like the foreign key would
+        when(postDao.saveAll(anyList())).thenAnswer(inv -> {
+            List<Post> posts = inv.getArgument(0);
+            if (posts.stream().anyMatch(post -> post.getUser().getId() == UNKNOWN_USER)) {
+                throw new DataIntegrityViolationException("violates foreign key constraint");
+            }
+            posts.forEach(post -> post.setId(ids.incrementAndGet()));
+            return posts;
+        });
+        String ndjson = IntStream.rangeClosed(1, PostBulkService.BATCH_SIZE + 10)
+                .mapToObj(i -> switch (i) {
+                    case 3 -> "{not json";
+                    case 5 -> row(1, "no");
+                    case 7 -> row(UNKNOWN_USER, "Orphan post");
+                    case 9 -> "";
+                    default -> row(1, "Post " + i);
+                })
+                .collect(Collectors.joining("\n"));
+
+        BulkImportResult result = service.importPosts(
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(result.imported()).isEqualTo(PostBulkService.BATCH_SIZE + 10 - 4);
+        assertThat(result.failed()).isEqualTo(3);
+        assertThat(result.errors()).extracting(BulkImportResult.RowError::line).containsExactly(3L, 5L, 7L);
+        assertThat(result.errors().get(1).message()).startsWith("title:");
+        assertThat(result.errors().get(2).message()).contains("foreign key");
+        // First batch failed and was retried row by row, the second went in whole
+        verify(postDao, times(1 + PostBulkService.BATCH_SIZE + 1)).saveAll(anyList());
+    }
+
+    @Test
+    void exportWritesOnePostPerLine() throws Exception {
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 12, 0);
+        when(postDao.streamAllDetails()).thenReturn(Stream.of(
+                new PostDetail(1L, 1L, "First", "content one", now, now),
+                new PostDetail(2L, 1L, "Second", "content two", now, now)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        long exported = service.exportPosts(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(2);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines[1], PostDetail.class).title()).isEqualTo("Second");
+    }
+
+    private static String row(long userId, String title) {
+        return "{\"userId\":" + userId + ",\"title\":\"" + title + "\",\"content\":\"Some content for the post\"}";
+    }
+}
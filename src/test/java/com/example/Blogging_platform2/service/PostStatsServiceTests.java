@@ -0,0 +1,140 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.CacheNames;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostStatsServiceTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.POSTS);
+    private final PostStatsService service = new PostStatsService(jdbcTemplate, cacheManager, mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void deltasAreCombinedPerPostIntoOneBatchOfIncrements() {
+        cacheManager.getCache(CacheNames.POSTS).put(1L, "cached detail");
+        service.addCommentsAfterCommit(1L, 1);
+        service.addCommentsAfterCommit(1L, 1);
+        service.addViews(1L, 3);
+        service.addRatingAfterCommit(1L, 4, 1);
+        // A review changed from 3 to 5 stars
+        service.addRatingAfterCommit(2L, 3, -1);
+        service.addRatingAfterCommit(2L, 5, 1);
+        service.addCommentsAfterCommit(3L, 1);
+        service.addCommentsAfterCommit(3L, -1);
+
+        service.flush();
+
+        List<Object[]> rows = flushedRows();
+        assertThat(rows).hasSize(2);
+        // post, comments, views, rating count, rating sum, 1-5 star histogram, post
+        assertThat(rows).anySatisfy(row -> assertThat(row).containsExactly(1L, 2L, 3L, 1L, 4L, 0L, 0L, 0L, 1L, 0L, 1L));
+        assertThat(rows).anySatisfy(row -> assertThat(row).containsExactly(2L, 0L, 0L, 0L, 2L, 0L, 0L, -1L, 0L, 1L, 2L));
+        assertThat(cacheManager.getCache(CacheNames.POSTS).get(1L)).isNull();
+
+        service.flush();
+        verify(jdbcTemplate, times(1)).batchUpdate(anyString(), anyList());
+    }
+
+    @Test
+    void onlyCommittedWritesAreCounted() {
+        TransactionSynchronizationManager.initSynchronization();
+        service.addCommentsAfterCommit(1L, 1);
+        List<TransactionSynchronization> rolledBack = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+
+        service.flush();
+        verify(jdbcTemplate, never()).batchUpdate(anyString(), anyList());
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.addCommentsAfterCommit(1L, 1);
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertThat(rolledBack).hasSize(1);
+
+        service.flush();
+        assertThat(flushedRows()).singleElement().satisfies(row -> assertThat(row[1]).isEqualTo(1L));
+    }
+
+    @Test
+    void failedFlushKeepsDeltasForTheNextRun() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyList()))
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenReturn(new int[]{1});
+        service.addViews(1L, 2);
+
+        service.flush();
+        service.addViews(1L, 1);
+        service.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batches = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate, times(2)).batchUpdate(anyString(), batches.capture());
+        assertThat(batches.getAllValues().get(1)).singleElement().satisfies(row -> assertThat(row[2]).isEqualTo(3L));
+    }
+
+    @Test
+    void viewOnlyDeltasLeaveCachedPostsInPlace() {
+        cacheManager.getCache(CacheNames.POSTS).put(1L, "cached detail");
+        cacheManager.getCache(CacheNames.POSTS).put(2L, "cached detail");
+        service.addViews(1L, 5);
+        service.addViews(2L, 1);
+        service.addCommentsAfterCommit(2L, 1);
+
+        service.flush();
+
+        assertThat(flushedRows()).hasSize(2);
+        assertThat(cacheManager.getCache(CacheNames.POSTS).get(1L)).isNotNull();
+        assertThat(cacheManager.getCache(CacheNames.POSTS).get(2L)).isNull();
+    }
+
+    @Test
+    void rebuildIsSkippedWhileAnotherNodeHoldsTheLock() {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(false);
+        cacheManager.getCache(CacheNames.POSTS).put(1L, "cached detail");
+
+        assertThat(service.rebuild()).isEmpty();
+        verify(jdbcTemplate, never()).update(anyString());
+        assertThat(cacheManager.getCache(CacheNames.POSTS).get(1L)).isNotNull();
+
+        when(jdbcTemplate.queryForObject(anyString(), eq(Boolean.class), any(Object[].class))).thenReturn(true);
+        when(jdbcTemplate.update(anyString())).thenReturn(3, 1);
+
+        assertThat(service.rebuild()).hasValue(3);
+        verify(jdbcTemplate, times(2)).update(anyString());
+        assertThat(cacheManager.getCache(CacheNames.POSTS).get(1L)).isNull();
+    }
+
+    private List<Object[]> flushedRows() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> batch = ArgumentCaptor.forClass(List.class);
+        verify(jdbcTemplate).batchUpdate(anyString(), batch.capture());
+        return batch.getValue();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.Blogging_platform2.service;
+
+import com.example.Blogging_platform2.cache.CacheNames;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PostViewIngestionQueueTests {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager(CacheNames.POST_VIEWS_BY_POST);
+    private final Cache viewsByPost = cacheManager.getCache(CacheNames.POST_VIEWS_BY_POST);
+    private final PostViewIngestionQueue queue = new PostViewIngestionQueue(jdbcTemplate,
+            mock(PostViewCounterService.class), mock(ApplicationEventPublisher.class), cacheManager,
+            new SimpleMeterRegistry(), true, 100, 50, 10, 50, 5_000);
+
+    @Test
+    void flushedBatchEvictsTheViewListsOfItsPosts() {
+        viewsByPost.put(1L, List.of());
+        viewsByPost.put(2L, List.of());
+        viewsByPost.put(3L, List.of());
+
+        queue.start();
+        queue.enqueue(1L, 7L, LocalDateTime.now());
+        queue.enqueue(1L, 8L, LocalDateTime.now());
+        queue.enqueue(2L, 7L, LocalDateTime.now());
+        queue.stop();
+
+        assertThat(viewsByPost.get(1L)).isNull();
+        assertThat(viewsByPost.get(2L)).isNull();
+        assertThat(viewsByPost.get(3L)).isNotNull();
+    }
+
+    @Test
+    void rowByRowFallbackOnlyEvictsPostsWhoseViewsWereWritten() {
+        when(jdbcTemplate.batchUpdate(anyString(), anyCollection(), anyInt(), any(ParameterizedPreparedStatementSetter.class)))
+                .thenThrow(new DataIntegrityViolationException("post 2 was deleted"));
+        when(jdbcTemplate.update(anyString(), eq(2L), any(), any()))
+                .thenThrow(new DataIntegrityViolationException("post 2 was deleted"));
+        viewsByPost.put(1L, List.of());
+        viewsByPost.put(2L, List.of());
+
+        queue.start();
+        queue.enqueue(1L, 7L, LocalDateTime.now());
+        queue.enqueue(2L, 7L, LocalDateTime.now());
+        queue.stop();
+
+        assertThat(viewsByPost.get(1L)).isNull();
+        assertThat(viewsByPost.get(2L)).isNotNull();
+    }
+}
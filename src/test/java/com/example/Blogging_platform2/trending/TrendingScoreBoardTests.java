@@ -0,0 +1,100 @@
+package com.example.Blogging_platform2.trending;
+
+import com.example.Blogging_platform2.dto.TrendingPostDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendingScoreBoardTests {
+
+    private static final Duration HALF_LIFE = Duration.ofHours(1);
+
+    private final AtomicLong clock = new AtomicLong(1_000_000L);
+
+    @Test
+    void scoresHalveEveryHalfLifeAndRecentEngagementRanksFirst() {
+        TrendingScoreBoard board = new TrendingScoreBoard(HALF_LIFE, 100, clock::get);
+        board.record(1L, 10);
+        clock.addAndGet(HALF_LIFE.toMillis());
+        board.record(2L, 6);
+
+        List<TrendingPostDto> top = board.top(10);
+
+        assertThat(top).extracting(TrendingPostDto::postId).containsExactly(2L, 1L);
+        assertThat(top.get(0).score()).isCloseTo(6, within(1e-9));
+        assertThat(top.get(1).score()).isCloseTo(5, within(1e-9));
+    }
+
+    @Test
+    void restoredSnapshotDecaysFromWhenItWasTaken() {
+        TrendingScoreBoard board = new TrendingScoreBoard(HALF_LIFE, 100, clock::get);
+        long takenAt = clock.get();
+        clock.addAndGet(2 * HALF_LIFE.toMillis());
+
+        board.record(1L, 8, takenAt);
+
+        assertThat(board.top(1).get(0).score()).isCloseTo(2, within(1e-9));
+    }
+
+    @Test
+    void drainHandsOverCurrentScoresAndEmptiesTheBoard() {
+        TrendingScoreBoard board = new TrendingScoreBoard(HALF_LIFE, 100, clock::get);
+        board.record(1L, 4);
+        clock.addAndGet(HALF_LIFE.toMillis());
+
+        assertThat(board.drain()).containsExactly(new TrendingPostDto(1L, 2.0));
+        assertThat(board.size()).isZero();
+    }
+
+    @Test
+    void scoresSurviveTheLandmarkMovingAfterWeeksOfUptime() {
+        TrendingScoreBoard board = new TrendingScoreBoard(HALF_LIFE, 100, clock::get);
+        board.record(1L, 1);
+        clock.addAndGet(100 * HALF_LIFE.toMillis());
+        board.record(2L, 1);
+
+        List<TrendingPostDto> top = board.top(10);
+
+        assertThat(top.get(0)).isEqualTo(new TrendingPostDto(2L, 1.0));
+        assertThat(top.get(1).score()).isCloseTo(Math.pow(2, -100), within(1e-35));
+    }
+
+    @Test
+    void readsStayOrderedWhileScoresChange() throws Exception {
+        TrendingScoreBoard board = new TrendingScoreBoard(HALF_LIFE, 10_000, clock::get);
+        for (long id = 0; id < 5_000; id++) {
+            board.record(id, 1);
+        }
+        Thread recorder = new Thread(() -> {
+            for (int i = 0; i < 500_000; i++) {
+                board.record((long) (i % 5_000), 1 + i % 7);
+            }
+        });
+        recorder.start();
+        while (recorder.isAlive()) {
+            List<TrendingPostDto> top = board.top(100);
+            assertThat(top).hasSize(100);
+            assertThat(top).extracting(TrendingPostDto::score).isSortedAccordingTo(Comparator.reverseOrder());
+        }
+        recorder.join();
+    }
+
+    @Test
+    void dropsTheLowerScoredHalfOnceFull() {
+        TrendingScoreBoard board = new TrendingScoreBoard(HALF_LIFE, 10, clock::get);
+        for (long id = 1; id <= 10; id++) {
+            board.record(id, id);
+        }
+
+        board.record(11L, 1);
+
+        assertThat(board.size()).isEqualTo(6);
+        assertThat(board.top(10)).extracting(TrendingPostDto::postId).containsExactly(10L, 9L, 8L, 7L, 6L, 11L);
+    }
+}
@@ -0,0 +1,80 @@
+-- Compares the old LIKE title scan with the tsvector + GIN full-text search on 1M posts.
+-- Runs in its own schema so it never touches application data:
+--
+--   psql -d Blogging_platform7 -f src/test/resources/benchmark/post-search-benchmark.sql
+--
+-- Read the "Execution Time" lines of each EXPLAIN ANALYZE block.
+
+\timing on
+DROP SCHEMA IF EXISTS search_bench CASCADE;
+CREATE SCHEMA search_bench;
+SET search_path TO search_bench;
+
+CREATE TABLE posts (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    title VARCHAR(255) NOT NULL,
+    content TEXT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    search_vector tsvector
+);
+CREATE TABLE tags (id BIGSERIAL PRIMARY KEY, name VARCHAR(50) UNIQUE NOT NULL);
+CREATE TABLE post_tags (post_id BIGINT NOT NULL, tag_id BIGINT NOT NULL, PRIMARY KEY (post_id, tag_id));
+
+-- 1M posts built from a small vocabulary so that terms repeat realistically
+WITH words AS (
+    SELECT ARRAY['spring','java','postgres','cache','index','graphql','search','latency','thread','virtual',
+                 'hibernate','query','batch','stream','kafka','docker','cloud','security','token','review',
+                 'comment','tag','trending','benchmark','memory','heap','garbage','collector','scaling','replica'] AS w
+)
+INSERT INTO posts (user_id, title, content, created_at)
+SELECT (g % 1000) + 1,
+       initcap(w[1 + (g * 7) % 30] || ' ' || w[1 + (g * 13) % 30] || ' ' || w[1 + (g * 17) % 30]),
+       repeat(w[1 + (g * 3) % 30] || ' ' || w[1 + (g * 11) % 30] || ' ' || w[1 + (g * 19) % 30] || ' notes. ', 40),
+       now() - (g || ' seconds')::interval
+FROM generate_series(1, 1000000) g, words;
+
+INSERT INTO tags (name) SELECT 'tag' || g FROM generate_series(1, 200) g;
+INSERT INTO post_tags (post_id, tag_id) SELECT g, (g % 200) + 1 FROM generate_series(1, 1000000) g;
+
+-- Same weighting as PostDao.SEARCH_VECTOR_SQL
+UPDATE posts p SET search_vector =
+    setweight(to_tsvector('english', coalesce(p.title, '')), 'A') ||
+    setweight(to_tsvector('english', coalesce((SELECT string_agg(t.name, ' ') FROM post_tags pt
+        JOIN tags t ON t.id = pt.tag_id WHERE pt.post_id = p.id), '')), 'B') ||
+    setweight(to_tsvector('english', coalesce(p.content, '')), 'C');
+
+CREATE INDEX idx_posts_search_vector ON posts USING GIN (search_vector);
+CREATE INDEX idx_posts_created_at_id ON posts (created_at DESC, id DESC);
+VACUUM ANALYZE posts;
+
+-- 1. Old path: PostDao.findByTitleContainingIgnoreCase (page + count query)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM posts WHERE lower(title) LIKE '%kafka%' ORDER BY id LIMIT 10 OFFSET 0;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM posts WHERE lower(title) LIKE '%kafka%';
+
+-- 2. New path: PostDao.searchFullText (page + count query)
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM posts p, websearch_to_tsquery('english', 'kafka') q
+WHERE p.search_vector @@ q ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id DESC LIMIT 10 OFFSET 0;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT count(*) FROM posts p WHERE p.search_vector @@ websearch_to_tsquery('english', 'kafka');
+
+-- 3. Selective multi-term query, where the GIN index shines
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT * FROM posts WHERE lower(title) LIKE '%kafka%' AND lower(content) LIKE '%replica%' LIMIT 10;
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT p.* FROM posts p, websearch_to_tsquery('english', 'kafka replica tag17') q
+WHERE p.search_vector @@ q ORDER BY ts_rank_cd(p.search_vector, q) DESC, p.id DESC LIMIT 10;
+
+-- 4. Highlighted hits (PostDao.searchFullTextHits), headline only computed for the page
+EXPLAIN (ANALYZE, BUFFERS)
+SELECT r.id, r.title, r.rank, ts_headline('english', r.content, r.q, 'MaxFragments=2, MaxWords=30, MinWords=10')
+FROM (SELECT p.id, p.title, p.content, q, ts_rank_cd(p.search_vector, q) AS rank
+      FROM posts p, websearch_to_tsquery('english', 'kafka replica') q
+      WHERE p.search_vector @@ q ORDER BY rank DESC, p.id DESC LIMIT 10) r
+ORDER BY r.rank DESC, r.id DESC;
+
+RESET search_path;
+DROP SCHEMA search_bench CASCADE;
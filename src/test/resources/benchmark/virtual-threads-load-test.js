@@ -0,0 +1,63 @@
+// Throughput and tail latency of platform-thread vs virtual-thread request handling (k6, https://k6.io).
+// Start the app once per mode against the same database, then run this script against each:
+//
+//   mvn spring-boot:run -Dspring-boot.run.profiles=prod            # platform threads
+//   mvn spring-boot:run -Dspring-boot.run.profiles=prod,virtual    # virtual threads + DB admission control
+//   k6 run -e BASE_URL=http://localhost:8082 -e USERNAME=<user> -e PASSWORD=<pass> \
+//          -e MAX_POST_ID=1000 src/test/resources/benchmark/virtual-threads-load-test.js
+//
+// Compare http_reqs/s, the p(99) of http_req_duration and the 503 rate (status_503) between the two
+// summaries. Cached reads barely touch the pool, so the uncached search path shows the difference.
+
+import http from 'k6/http';
+import { check } from 'k6';
+import { Rate } from 'k6/metrics';
+
+const BASE_URL = __ENV.BASE_URL || 'http://localhost:8082';
+const MAX_POST_ID = parseInt(__ENV.MAX_POST_ID || '1000');
+const PEAK_VUS = parseInt(__ENV.PEAK_VUS || '5000');
+
+const status503 = new Rate('status_503');
+
+export const options = {
+    summaryTrendStats: ['avg', 'p(50)', 'p(95)', 'p(99)', 'max'],
+    scenarios: {
+        ramp: {
+            executor: 'ramping-vus',
+            startVUs: 0,
+            stages: [
+                { duration: '30s', target: PEAK_VUS / 10 },
+                { duration: '1m', target: PEAK_VUS },
+                { duration: '2m', target: PEAK_VUS },
+                { duration: '30s', target: 0 },
+            ],
+            gracefulRampDown: '10s',
+        },
+    },
+};
+
+export function setup() {
+    const res = http.post(`${BASE_URL}/auth/login`,
+        JSON.stringify({ username: __ENV.USERNAME, password: __ENV.PASSWORD }),
+        { headers: { 'Content-Type': 'application/json' } });
+    check(res, { 'logged in': (r) => r.status === 200 });
+    return { token: res.body };
+}
+
+export default function (data) {
+    const params = { headers: { Authorization: `Bearer ${data.token}` }, tags: {} };
+    const roll = Math.random();
+    let res;
+    if (roll < 0.6) {
+        params.tags.name = 'post by id';
+        res = http.get(`${BASE_URL}/api/posts/${1 + Math.floor(Math.random() * MAX_POST_ID)}`, params);
+    } else if (roll < 0.9) {
+        params.tags.name = 'post page';
+        res = http.get(`${BASE_URL}/api/posts/scroll?size=20`, params);
+    } else {
+        params.tags.name = 'search';
+        res = http.get(`${BASE_URL}/api/posts/search?query=post${Math.floor(Math.random() * 100)}`, params);
+    }
+    status503.add(res.status === 503);
+    check(res, { 'ok or shed': (r) => r.status === 200 || r.status === 404 || r.status === 503 });
+}